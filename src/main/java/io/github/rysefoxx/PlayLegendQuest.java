@@ -6,13 +6,16 @@ import io.github.rysefoxx.command.CommandQuestReward;
 import io.github.rysefoxx.command.tabcomplete.TabCompleteQuest;
 import io.github.rysefoxx.command.tabcomplete.TabCompleteQuestReward;
 import io.github.rysefoxx.database.ConnectionService;
-import io.github.rysefoxx.database.DatabaseTableService;
 import io.github.rysefoxx.language.LanguageService;
 import io.github.rysefoxx.listener.ConnectionListener;
+import io.github.rysefoxx.listener.PrefetchBatcher;
 import io.github.rysefoxx.listener.SignChangeListener;
+import io.github.rysefoxx.notification.QuestNotificationService;
+import io.github.rysefoxx.progress.ActiveQuestStateStore;
 import io.github.rysefoxx.progress.QuestUserProgressService;
 import io.github.rysefoxx.quest.QuestRequirementService;
 import io.github.rysefoxx.quest.QuestService;
+import io.github.rysefoxx.quest.type.RequirementTypeRegistry;
 import io.github.rysefoxx.reward.QuestRewardService;
 import io.github.rysefoxx.scoreboard.ScoreboardService;
 import io.github.rysefoxx.stats.PlayerStatisticsService;
@@ -42,14 +45,17 @@ public class PlayLegendQuest extends JavaPlugin {
     @Getter
     private static boolean unitTest;
 
+    private RequirementTypeRegistry requirementTypeRegistry;
     private ConnectionService connectionService;
     private LanguageService languageService;
+    private QuestNotificationService questNotificationService;
 
     private QuestRewardService questRewardService;
     private QuestService questService;
     private ScoreboardService scoreboardService;
     private QuestRequirementService questRequirementService;
     private QuestUserProgressService questUserProgressService;
+    private ActiveQuestStateStore activeQuestStateStore;
     private QuestUserService questUserService;
     private PlayerStatisticsService playerStatisticsService;
 
@@ -69,6 +75,7 @@ public class PlayLegendQuest extends JavaPlugin {
 
     @Override
     public void onDisable() {
+        if (this.questUserProgressService != null) this.questUserProgressService.flushAll().join();
         this.connectionService.closeConnection();
     }
 
@@ -91,18 +98,29 @@ public class PlayLegendQuest extends JavaPlugin {
      * Initializes all managers.
      */
     private void initializeManagers() {
+        this.requirementTypeRegistry = new RequirementTypeRegistry();
         this.connectionService = new ConnectionService(this);
-        new DatabaseTableService(this, this.connectionService);
 
         this.languageService = new LanguageService(this);
+        this.questNotificationService = new QuestNotificationService(this, this.languageService);
 
         this.playerStatisticsService = new PlayerStatisticsService();
         this.questRewardService = new QuestRewardService(this);
         this.questService = new QuestService();
-        this.questUserProgressService = new QuestUserProgressService();
+        this.questUserProgressService = new QuestUserProgressService(this);
+        this.activeQuestStateStore = new ActiveQuestStateStore(this.questUserProgressService, this.questService);
         this.questRequirementService = new QuestRequirementService(this);
-        this.scoreboardService = new ScoreboardService(this.questUserProgressService, this.languageService);
-        this.questUserService = new QuestUserService(this, this.questUserProgressService, this.languageService, this.scoreboardService, this.questService);
+        this.scoreboardService = new ScoreboardService(this.questUserProgressService, this.questService, this.languageService);
+        this.questUserService = new QuestUserService(this, this.questUserProgressService, this.activeQuestStateStore, this.languageService, this.scoreboardService, this.playerStatisticsService);
+        this.scoreboardService.setQuestUserService(this.questUserService);
+        this.questService.setQuestUserService(this.questUserService);
+        this.questService.setQuestRequirementService(this.questRequirementService);
+
+        // Players that are already online (e.g. after a reload) never pass the join listener.
+        Bukkit.getOnlinePlayers().forEach(player -> {
+            ConnectionService.getPlayerCachePolicy().markOnline(player.getUniqueId());
+            this.activeQuestStateStore.load(player.getUniqueId());
+        });
     }
 
     /**
@@ -111,7 +129,7 @@ public class PlayLegendQuest extends JavaPlugin {
     private void initializeCommands() {
         Objects.requireNonNull(getCommand("questreward")).setExecutor(new CommandQuestReward(this.languageService, this.questRewardService));
         Objects.requireNonNull(getCommand("coins")).setExecutor(new CommandCoins(this.languageService, this.playerStatisticsService));
-        Objects.requireNonNull(getCommand("quest")).setExecutor(new CommandQuest(this, this.questService, this.questRewardService, this.questUserProgressService, this.questRequirementService, this.questUserService, this.scoreboardService, this.languageService));
+        Objects.requireNonNull(getCommand("quest")).setExecutor(new CommandQuest(this, this.questService, this.questRewardService, this.questUserProgressService, this.activeQuestStateStore, this.questRequirementService, this.questUserService, this.scoreboardService, this.languageService));
     }
 
     /**
@@ -122,12 +140,22 @@ public class PlayLegendQuest extends JavaPlugin {
         Objects.requireNonNull(getCommand("questreward")).setTabCompleter(new TabCompleteQuestReward());
     }
 
+    /**
+     * Creates the batcher, that loads the data of players logging in at the same time together.
+     *
+     * @return The batcher.
+     */
+    private @NotNull PrefetchBatcher createPrefetchBatcher() {
+        long window = Math.max(0, this.connectionService.getConfig().getLong("prefetch.batch-window", 100));
+        return new PrefetchBatcher(this.questUserProgressService, this.questUserService, this.playerStatisticsService, window);
+    }
+
     /**
      * Initializes all listeners.
      */
     private void initializeListeners() {
         PluginManager pluginManager = Bukkit.getPluginManager();
-        pluginManager.registerEvents(new ConnectionListener(this.questUserProgressService, this.scoreboardService, this.languageService), this);
-        pluginManager.registerEvents(new SignChangeListener(this.questUserProgressService, this.languageService), this);
+        pluginManager.registerEvents(new ConnectionListener(this.questUserProgressService, this.questUserService, this.questService, this.questRewardService, this.activeQuestStateStore, this.scoreboardService, this.languageService, createPrefetchBatcher(), Math.max(0, this.connectionService.getConfig().getLong("prefetch.timeout", 3000))), this);
+        pluginManager.registerEvents(new SignChangeListener(this.questUserProgressService, this.questService, this.languageService), this);
     }
 }
\ No newline at end of file
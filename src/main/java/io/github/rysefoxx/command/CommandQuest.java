@@ -3,6 +3,7 @@ package io.github.rysefoxx.command;
 import io.github.rysefoxx.PlayLegendQuest;
 import io.github.rysefoxx.command.operation.*;
 import io.github.rysefoxx.language.LanguageService;
+import io.github.rysefoxx.progress.ActiveQuestStateStore;
 import io.github.rysefoxx.progress.QuestUserProgressService;
 import io.github.rysefoxx.quest.QuestRequirementService;
 import io.github.rysefoxx.quest.QuestService;
@@ -33,20 +34,22 @@ public class CommandQuest implements CommandExecutor, TabCompleter {
                         @NotNull QuestService questService,
                         @NotNull QuestRewardService questRewardService,
                         @NotNull QuestUserProgressService questUserProgressService,
+                        @NotNull ActiveQuestStateStore activeQuestStateStore,
                         @NotNull QuestRequirementService questRequirementService,
                         @NotNull QuestUserService questUserService,
                         @NotNull ScoreboardService scoreboardService,
                         @NotNull LanguageService languageService) {
         this.languageService = languageService;
-        this.operations.put("accept", new QuestAcceptOperation(questService, languageService, questUserProgressService, questUserService, scoreboardService));
+        this.operations.put("accept", new QuestAcceptOperation(questService, languageService, activeQuestStateStore, questUserService, scoreboardService));
         this.operations.put("cancel", new QuestCancelOperation(questService, questUserService, languageService, questUserProgressService, scoreboardService));
         this.operations.put("create", new QuestCreateOperation(questService, languageService));
         this.operations.put("delete", new QuestDeleteOperation(questService, languageService));
-        this.operations.put("info", new QuestInfoOperation(questUserProgressService, languageService));
+        this.operations.put("info", new QuestInfoOperation(questUserProgressService, questService, questUserService, languageService));
         this.operations.put("update_displayname", new QuestDisplayNameOperation(questService, languageService));
         this.operations.put("update_description", new QuestDescriptionOperation(questService, languageService, scoreboardService));
         this.operations.put("update_duration", new QuestDurationOperation(questService, languageService));
         this.operations.put("update_permission", new QuestPermissionOperation(questService, languageService));
+        this.operations.put("stats", new QuestStatsOperation(languageService));
 
         QuestRewardOperation questRewardOperation = new QuestRewardOperation(questService, questRewardService, languageService);
         this.operations.put("reward_add", questRewardOperation);
@@ -102,7 +105,8 @@ public class CommandQuest implements CommandExecutor, TabCompleter {
                 "Quest requirement add <Name> <Type> <RequiredAmount> <Material/EntityType>",
                 "Quest requirement remove <Name> <Id>",
                 "Quest requirement info <Id>",
-                "Quest info");
+                "Quest info",
+                "Quest stats");
     }
 
     @Override
@@ -9,7 +9,6 @@ import io.github.rysefoxx.progress.QuestUserProgressService;
 import io.github.rysefoxx.quest.QuestModel;
 import io.github.rysefoxx.quest.QuestService;
 import io.github.rysefoxx.scoreboard.ScoreboardService;
-import io.github.rysefoxx.user.QuestUserModel;
 import io.github.rysefoxx.user.QuestUserService;
 import io.github.rysefoxx.util.LogUtils;
 import lombok.RequiredArgsConstructor;
@@ -89,16 +88,8 @@ public class QuestCancelOperation implements QuestOperation {
             return CompletableFuture.completedFuture(null);
         }
 
-        QuestUserModel questUserModel = quest.getUserQuestModel(player);
-        if (questUserModel != null) {
-            this.questUserService.getCache().synchronous().invalidate(questUserModel.getId());
-        }
-
-        quest.removeUserProgress(questUserProgressModel);
-        quest.getUserQuests().remove(questUserModel);
-
-        return questUserProgressService.deleteQuest(player.getUniqueId(), name)
-                .thenCompose(progressResultType -> handleDeleteQuest(player, progressResultType, quest))
+        return questUserService.cancelQuest(player.getUniqueId(), quest.getName())
+                .thenAccept(progressResultType -> handleDeleteQuest(player, progressResultType))
                 .exceptionally(throwable -> LogUtils.handleError(player, "Error while canceling quest", throwable));
     }
 
@@ -108,14 +99,9 @@ public class QuestCancelOperation implements QuestOperation {
      *
      * @param player             The player who executed the command.
      * @param progressResultType The result type of the progress.
-     * @param quest              The quest model.
-     * @return A completable future.
      */
-    private @NotNull CompletableFuture<@Nullable Void> handleDeleteQuest(@NotNull Player player, @NotNull ResultType progressResultType, @NotNull QuestModel quest) {
-        return questService.getCache().synchronous().refresh(quest.getName())
-                .thenRun(() -> {
-                    scoreboardService.update(player);
-                    languageService.sendTranslatedMessage(player, "quest_canceled_" + progressResultType.toString().toLowerCase());
-                });
+    private void handleDeleteQuest(@NotNull Player player, @NotNull ResultType progressResultType) {
+        scoreboardService.update(player);
+        languageService.sendTranslatedMessage(player, "quest_canceled_" + progressResultType.toString().toLowerCase());
     }
 }
@@ -4,7 +4,9 @@ import io.github.rysefoxx.command.QuestOperation;
 import io.github.rysefoxx.language.LanguageService;
 import io.github.rysefoxx.progress.QuestUserProgressModel;
 import io.github.rysefoxx.progress.QuestUserProgressService;
-import io.github.rysefoxx.quest.QuestModel;
+import io.github.rysefoxx.quest.QuestDefinition;
+import io.github.rysefoxx.quest.QuestService;
+import io.github.rysefoxx.user.QuestUserService;
 import io.github.rysefoxx.util.LogUtils;
 import lombok.RequiredArgsConstructor;
 import org.bukkit.command.Command;
@@ -24,6 +26,8 @@ import java.util.concurrent.CompletableFuture;
 public class QuestInfoOperation implements QuestOperation {
 
     private final QuestUserProgressService questUserProgressService;
+    private final QuestService questService;
+    private final QuestUserService questUserService;
     private final LanguageService languageService;
 
     @Override
@@ -50,8 +54,8 @@ public class QuestInfoOperation implements QuestOperation {
             return CompletableFuture.completedFuture(null);
         }
 
-        QuestModel questModel = questUserProgressModels.get(0).getQuest();
-        questModel.sendProgressToUser(player, languageService, questUserProgressModels);
-        return CompletableFuture.completedFuture(null);
+        QuestDefinition questDefinition = questService.definitionOf(questUserProgressModels.get(0).getQuest());
+        return questUserService.findByUuid(player.getUniqueId())
+                .thenAccept(questUserModel -> questDefinition.sendProgressToUser(player, languageService, questUserProgressModels, questUserModel));
     }
 }
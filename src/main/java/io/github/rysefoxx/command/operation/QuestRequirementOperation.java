@@ -2,13 +2,13 @@ package io.github.rysefoxx.command.operation;
 
 import io.github.rysefoxx.PlayLegendQuest;
 import io.github.rysefoxx.command.QuestOperation;
-import io.github.rysefoxx.enums.QuestRequirementType;
 import io.github.rysefoxx.enums.ResultType;
 import io.github.rysefoxx.language.LanguageService;
 import io.github.rysefoxx.quest.AbstractQuestRequirement;
 import io.github.rysefoxx.quest.QuestModel;
 import io.github.rysefoxx.quest.QuestRequirementService;
 import io.github.rysefoxx.quest.QuestService;
+import io.github.rysefoxx.quest.type.RequirementType;
 import io.github.rysefoxx.util.LogUtils;
 import io.github.rysefoxx.util.Maths;
 import lombok.RequiredArgsConstructor;
@@ -133,7 +133,10 @@ public class QuestRequirementOperation implements QuestOperation {
         }
 
         return questService.removeRequirement(questModel, requirement)
-                .thenAccept(resultType -> handleSaveResult(player, resultType, "Error while removing requirement from quest"))
+                .thenAccept(resultType -> {
+                    if (resultType == ResultType.SUCCESS) questRequirementService.unregister(requirement);
+                    handleSaveResult(player, resultType, "Error while removing requirement from quest");
+                })
                 .exceptionally(throwable -> LogUtils.handleError(player, "Error removing requirement from quest", throwable));
     }
 
@@ -149,7 +152,7 @@ public class QuestRequirementOperation implements QuestOperation {
             return;
         }
 
-        QuestRequirementType requirementType = QuestRequirementType.getQuestRequirementType(args[3]);
+        RequirementType<?, ?> requirementType = plugin.getRequirementTypeRegistry().get(args[3]);
         if (requirementType == null) {
             languageService.sendTranslatedMessage(player, "quest_invalid_requirement_type");
             return;
@@ -170,7 +173,7 @@ public class QuestRequirementOperation implements QuestOperation {
      * @param args            The arguments of the command.
      * @return A completable future.
      */
-    private @NotNull CompletableFuture<@Nullable Void> handleAddRequirement(@NotNull Player player, @Nullable QuestModel questModel, @NotNull QuestRequirementType requirementType, String @NotNull [] args) {
+    private @NotNull CompletableFuture<@Nullable Void> handleAddRequirement(@NotNull Player player, @Nullable QuestModel questModel, @NotNull RequirementType<?, ?> requirementType, String @NotNull [] args) {
         if (questModel == null) {
             languageService.sendTranslatedMessage(player, "quest_not_exist");
             return CompletableFuture.completedFuture(null);
@@ -0,0 +1,66 @@
+package io.github.rysefoxx.command.operation;
+
+import io.github.rysefoxx.command.QuestOperation;
+import io.github.rysefoxx.database.ConnectionService;
+import io.github.rysefoxx.language.LanguageService;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nonnegative;
+
+/**
+ * Shows the hit ratios of the hibernate second-level cache and the query cache. Only admins may see them.
+ *
+ * @author Rysefoxx
+ * @since 17.10.2026
+ */
+@RequiredArgsConstructor
+public class QuestStatsOperation implements QuestOperation {
+
+    private static final String ADMIN_PERMISSION = "playlegend.quest.admin";
+
+    private final LanguageService languageService;
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        if (!(sender instanceof Player player)) return false;
+        if (!player.hasPermission(ADMIN_PERMISSION)) {
+            this.languageService.sendTranslatedMessage(player, "no_permission");
+            return false;
+        }
+
+        Statistics statistics = ConnectionService.getSessionFactory().getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            this.languageService.sendTranslatedMessage(player, "quest_stats_disabled");
+            return true;
+        }
+
+        this.languageService.sendTranslatedMessage(player, "quest_stats_header");
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(regionName);
+            sendRegion(player, regionName, regionStatistics.getHitCount(), regionStatistics.getMissCount(), regionStatistics.getPutCount());
+        }
+        sendRegion(player, "query", statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount());
+        return true;
+    }
+
+    /**
+     * Sends the statistics of one cache region to the player.
+     *
+     * @param player     The player to send the statistics to.
+     * @param regionName The name of the region.
+     * @param hits       The number of cache hits.
+     * @param misses     The number of cache misses.
+     * @param puts       The number of cache puts.
+     */
+    private void sendRegion(@NotNull Player player, @NotNull String regionName, @Nonnegative long hits, @Nonnegative long misses, @Nonnegative long puts) {
+        long requests = hits + misses;
+        String hitRatio = requests == 0 ? "-" : String.format("%.1f%%", hits * 100D / requests);
+        this.languageService.sendTranslatedMessage(player, "quest_stats_region", regionName, String.valueOf(hits), String.valueOf(misses), String.valueOf(puts), hitRatio);
+    }
+}
@@ -16,7 +16,7 @@ import java.util.List;
  */
 public class TabCompleteQuest implements TabCompleter {
 
-    private static final List<String> MAIN_COMMANDS = Arrays.asList("create", "delete", "accept", "cancel", "update", "reward", "requirement", "info");
+    private static final List<String> MAIN_COMMANDS = Arrays.asList("create", "delete", "accept", "cancel", "update", "reward", "requirement", "info", "stats");
     private static final List<String> UPDATE_SUB_COMMANDS = Arrays.asList("displayname", "description", "duration", "permission");
     private static final List<String> REWARD_SUB_COMMANDS = Arrays.asList("add", "remove");
     private static final List<String> REQUIREMENT_SUB_COMMANDS = Arrays.asList("add", "remove", "info");
@@ -6,8 +6,6 @@ import io.github.rysefoxx.PlayLegendQuest;
 import io.github.rysefoxx.progress.QuestUserProgressModel;
 import io.github.rysefoxx.quest.AbstractQuestRequirement;
 import io.github.rysefoxx.quest.QuestModel;
-import io.github.rysefoxx.quest.impl.QuestCollectRequirement;
-import io.github.rysefoxx.quest.impl.QuestKillRequirement;
 import io.github.rysefoxx.reward.QuestRewardModel;
 import io.github.rysefoxx.stats.PlayerStatisticsModel;
 import io.github.rysefoxx.user.QuestUserModel;
@@ -24,6 +22,7 @@ import org.jetbrains.annotations.Nullable;
 import java.io.File;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
 import java.util.logging.Level;
@@ -36,9 +35,21 @@ public class ConnectionService {
 
     @Getter
     private static SessionFactory sessionFactory;
+    /**
+     * Runs the database work of all services and the loaders of their caches.
+     */
+    @Getter
+    private static DatabaseExecutor executor;
+    /**
+     * Decides how long the state of a player stays in the caches of the services.
+     */
+    @Getter
+    private static PlayerCachePolicy playerCachePolicy;
     private final PlayLegendQuest plugin;
     @Getter
     private HikariDataSource dataSource;
+    @Getter
+    private YamlConfiguration config;
 
     /**
      * Loads the database.yml and sets up the HikariCP datasource.
@@ -55,6 +66,7 @@ public class ConnectionService {
      * Closes the connection to the database.
      */
     public void closeConnection() {
+        if (executor != null) executor.shutdown();
         if (this.dataSource == null) return;
         if (this.dataSource.isClosed()) return;
         this.dataSource.close();
@@ -68,11 +80,14 @@ public class ConnectionService {
     }
 
     /**
-     * Sets up the HikariCP datasource.
+     * Sets up the HikariCP datasource, migrates the database schema and sets up hibernate.
      */
     private void setupHikariCP() {
         File file = new File(this.plugin.getDataFolder(), "database.yml");
         YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
+        this.config = config;
+        executor = new DatabaseExecutor(this.plugin, config.getString("executor.type", "platform"), getPositive(config, "pool.maximum-pool-size", 10));
+        playerCachePolicy = new PlayerCachePolicy(getPositive(config, "player-cache.maximum-size", 1000), Math.max(0, config.getLong("player-cache.grace-period", 60)));
 
         if (!isValidConfig(config)) {
             this.plugin.getLogger().severe("Failed to load database.yml! Shutting down the server.");
@@ -83,6 +98,13 @@ public class ConnectionService {
 
         String url = buildJdbcUrl(config);
         setupDataSource(url, config);
+        if (this.dataSource == null) return;
+
+        if (!new SchemaMigrationService(this.plugin, this.dataSource).migrate()) {
+            this.plugin.getLogger().severe("Failed to migrate the database schema! Shutting down the server.");
+            Bukkit.shutdown();
+            return;
+        }
         setupHibernate();
     }
 
@@ -114,7 +136,7 @@ public class ConnectionService {
     }
 
     /**
-     * Sets up the datasource with the given hikari config.
+     * Sets up the datasource with the pool and driver settings from the config. Invalid values are replaced by their default.
      *
      * @param url    The jdbc url.
      * @param config The config to build the datasource from.
@@ -126,9 +148,25 @@ public class ConnectionService {
             hikariConfig.setUsername(config.getString("username"));
             hikariConfig.setPassword(config.getString("password"));
             hikariConfig.setDriverClassName("org.mariadb.jdbc.Driver");
-            hikariConfig.setMaximumPoolSize(100);
+
+            int maximumPoolSize = getPositive(config, "pool.maximum-pool-size", 10);
+            hikariConfig.setPoolName(config.getString("pool.name", "PlayLegendQuest"));
+            hikariConfig.setMaximumPoolSize(maximumPoolSize);
+            hikariConfig.setMinimumIdle(Math.min(getPositive(config, "pool.minimum-idle", maximumPoolSize), maximumPoolSize));
+            hikariConfig.setConnectionTimeout(Math.max(250, getPositive(config, "pool.connection-timeout", 5000)));
+            hikariConfig.setIdleTimeout(getPositive(config, "pool.idle-timeout", 600000));
+            hikariConfig.setMaxLifetime(Math.max(30000, getPositive(config, "pool.max-lifetime", 1800000)));
+            hikariConfig.setLeakDetectionThreshold(Math.max(0, config.getLong("pool.leak-detection-threshold", 30000)));
+
+            hikariConfig.addDataSourceProperty("cachePrepStmts", config.getBoolean("driver.cache-prepared-statements", true));
+            hikariConfig.addDataSourceProperty("prepStmtCacheSize", getPositive(config, "driver.prepared-statement-cache-size", 250));
+            hikariConfig.addDataSourceProperty("useServerPrepStmts", config.getBoolean("driver.use-server-prepared-statements", true));
+            hikariConfig.addDataSourceProperty("useBulkStmts", config.getBoolean("driver.use-bulk-statements", true));
 
             this.dataSource = new HikariDataSource(hikariConfig);
+            this.plugin.getLogger().info(String.format("Database pool %s: maximum-pool-size=%d, minimum-idle=%d, connection-timeout=%dms, idle-timeout=%dms, max-lifetime=%dms, leak-detection-threshold=%dms, driver=%s",
+                    hikariConfig.getPoolName(), hikariConfig.getMaximumPoolSize(), hikariConfig.getMinimumIdle(), hikariConfig.getConnectionTimeout(),
+                    hikariConfig.getIdleTimeout(), hikariConfig.getMaxLifetime(), hikariConfig.getLeakDetectionThreshold(), hikariConfig.getDataSourceProperties()));
         } catch (Exception e) {
             this.plugin.getLogger().log(Level.SEVERE, "Error setting up the datasource: " + e.getMessage(), e);
             Bukkit.shutdown();
@@ -136,19 +174,36 @@ public class ConnectionService {
     }
 
     /**
-     * Sets up the hibernate session factory.
+     * Gets a positive number from the config. A value that is not positive is replaced by the default and a warning is logged.
+     *
+     * @param config       The config to read from.
+     * @param path         The path of the value.
+     * @param defaultValue The default value.
+     * @return The value or the default value.
+     */
+    public int getPositive(@NotNull YamlConfiguration config, @NotNull String path, int defaultValue) {
+        int value = config.getInt(path, defaultValue);
+        if (value > 0) return value;
+
+        this.plugin.getLogger().warning("Invalid value " + value + " for " + path + " in database.yml, using " + defaultValue + " instead.");
+        return defaultValue;
+    }
+
+    /**
+     * Sets up the hibernate session factory. Hibernate takes its connections from the HikariCP datasource.
      */
     private void setupHibernate() {
         Configuration configuration = new Configuration();
 
         Properties settings = new Properties();
-        settings.put("hibernate.connection.url", this.dataSource.getJdbcUrl());
-        settings.put("hibernate.connection.username", this.dataSource.getUsername());
-        settings.put("hibernate.connection.password", this.dataSource.getPassword());
+        settings.put("hibernate.connection.datasource", this.dataSource);
         settings.put("hibernate.show_sql", "false");
         settings.put("hibernate.format_sql", "true");
-        settings.put("hibernate.hbm2ddl.auto", "update");
-        settings.put("hibernate.hikari.dataSource", this.dataSource);
+        // The schema is managed by the SchemaMigrationService.
+        settings.put("hibernate.hbm2ddl.auto", "none");
+        // The uuid columns are VARCHAR(36). Some services write them with plain JDBC, so hibernate has to store them as text as well.
+        settings.put("hibernate.type.preferred_uuid_jdbc_type", "CHAR");
+        applyCacheSettings(settings);
 
         configuration.setProperties(settings);
 
@@ -157,25 +212,50 @@ public class ConnectionService {
         StandardServiceRegistry serviceRegistry = new StandardServiceRegistryBuilder()
                 .applySettings(configuration.getProperties()).build();
 
-        sessionFactory = configuration.buildSessionFactory(serviceRegistry);
+        // JCache looks up its provider with the context class loader, which does not know the classes of the plugin.
+        Thread thread = Thread.currentThread();
+        ClassLoader contextClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(getClass().getClassLoader());
+        try {
+            sessionFactory = configuration.buildSessionFactory(serviceRegistry);
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    /**
+     * Applies the second-level cache settings from the database.yml. The cache is backed by caffeine through JCache. Only the entities annotated with {@link org.hibernate.annotations.Cache} and cacheable queries are cached.
+     *
+     * @param settings The hibernate settings to apply the cache settings to.
+     */
+    private void applyCacheSettings(@NotNull Properties settings) {
+        boolean enabled = this.config.getBoolean("second-level-cache.enabled", true);
+        settings.put("hibernate.cache.use_second_level_cache", String.valueOf(enabled));
+        settings.put("hibernate.cache.use_query_cache", String.valueOf(enabled));
+        settings.put("hibernate.generate_statistics", String.valueOf(this.config.getBoolean("second-level-cache.statistics", true)));
+        if (!enabled) return;
+
+        settings.put("hibernate.cache.region.factory_class", "jcache");
+        settings.put("hibernate.javax.cache.provider", "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider");
+        settings.put("hibernate.javax.cache.missing_cache_strategy", "create");
     }
 
     /**
-     * Gets the mapped classes for hibernate.
+     * Gets the mapped classes for hibernate. The requirement classes are taken from the registered requirement types.
      *
      * @return The mapped classes.
      */
     private List<Class<?>> getMappedClasses() {
-        return List.of(
+        List<Class<?>> mappedClasses = new ArrayList<>(List.of(
                 QuestModel.class,
                 QuestRewardModel.class,
                 QuestUserProgressModel.class,
                 AbstractQuestRequirement.class,
-                QuestKillRequirement.class,
-                QuestCollectRequirement.class,
                 PlayerStatisticsModel.class,
                 QuestUserModel.class
-        );
+        ));
+        mappedClasses.addAll(this.plugin.getRequirementTypeRegistry().getRequirementClasses());
+        return mappedClasses;
     }
 
     /**
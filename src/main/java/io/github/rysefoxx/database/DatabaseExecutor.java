@@ -0,0 +1,105 @@
+package io.github.rysefoxx.database;
+
+import io.github.rysefoxx.PlayLegendQuest;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.Nonnegative;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * Runs the blocking database work of the plugin, so it never occupies the common pool, that is shared with the server and other plugins.
+ * <br>
+ * The executor either uses a fixed pool of platform threads or one virtual thread per task. Virtual threads require Java 21, the number of concurrently running tasks is capped by a semaphore. In both cases at most as many tasks run as the connection pool has connections.
+ *
+ * @author Rysefoxx
+ * @since 17.10.2026
+ */
+public class DatabaseExecutor implements Executor {
+
+    private final PlayLegendQuest plugin;
+    private final ExecutorService executorService;
+    private final @Nullable Semaphore permits;
+
+    /**
+     * Creates a new executor. If virtual threads are requested, but not available, platform threads are used instead.
+     *
+     * @param plugin  The plugin instance.
+     * @param type    The type of the executor, either "platform" or "virtual".
+     * @param threads The maximum number of concurrently running tasks.
+     */
+    public DatabaseExecutor(@NotNull PlayLegendQuest plugin, @NotNull String type, @Nonnegative int threads) {
+        this.plugin = plugin;
+
+        ExecutorService virtualExecutor = type.equalsIgnoreCase("virtual") ? createVirtualThreadExecutor() : null;
+        if (virtualExecutor != null) {
+            this.executorService = virtualExecutor;
+            this.permits = new Semaphore(threads);
+        } else {
+            this.executorService = Executors.newFixedThreadPool(threads, createThreadFactory());
+            this.permits = null;
+        }
+
+        plugin.getLogger().info("Database executor: " + (virtualExecutor != null ? "virtual" : "platform") + " threads, " + threads + " concurrent tasks");
+    }
+
+    @Override
+    public void execute(@NotNull Runnable command) {
+        if (this.permits == null) {
+            this.executorService.execute(command);
+            return;
+        }
+
+        this.executorService.execute(() -> {
+            this.permits.acquireUninterruptibly();
+            try {
+                command.run();
+            } finally {
+                this.permits.release();
+            }
+        });
+    }
+
+    /**
+     * Stops accepting new tasks and waits up to 10 seconds for the running tasks.
+     */
+    public void shutdown() {
+        this.executorService.shutdown();
+        try {
+            if (this.executorService.awaitTermination(10, TimeUnit.SECONDS)) return;
+            this.plugin.getLogger().warning("Database executor did not terminate in time.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Creates the factory for the platform threads. The threads are named, so they can be found in thread dumps.
+     *
+     * @return The thread factory.
+     */
+    private @NotNull ThreadFactory createThreadFactory() {
+        AtomicInteger threadId = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "PlayLegendQuest-DB-" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Creates an executor, that starts a virtual thread per task. The executor is created reflectively, because the plugin is compiled for Java 17.
+     *
+     * @return The executor or null if virtual threads are not available.
+     */
+    private @Nullable ExecutorService createVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            this.plugin.getLogger().log(Level.WARNING, "Virtual threads require Java 21, using platform threads instead.");
+            return null;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.rysefoxx.database;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
 import io.github.rysefoxx.enums.ResultType;
 import org.jetbrains.annotations.NotNull;
 
@@ -27,4 +28,19 @@ public interface IDatabaseOperation<O, I> {
      */
     CompletableFuture<@NotNull ResultType> delete(I toDelete);
 
+    /**
+     * Puts the saved object into the cache. The object has just been written, so loading it again would only cost another query.
+     *
+     * @param cache The cache to write to.
+     * @param key   The key of the object.
+     * @param value The saved object.
+     * @param <K>   The type of the key.
+     * @param <V>   The type of the cached value.
+     * @return {@link ResultType#SUCCESS}
+     */
+    default <K, V> @NotNull ResultType writeThrough(@NotNull AsyncCache<K, V> cache, @NotNull K key, @NotNull V value) {
+        cache.put(key, CompletableFuture.completedFuture(value));
+        return ResultType.SUCCESS;
+    }
+
 }
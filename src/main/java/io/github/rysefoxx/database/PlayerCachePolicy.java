@@ -0,0 +1,123 @@
+package io.github.rysefoxx.database;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nonnegative;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the cached state of a player while he is online. After the player quit, his state expires after a grace period, so a reconnect finds it still cached. State of offline players, for example loaded by a command, expires after the same grace period.
+ * <br>
+ * The caches also have a hard size bound, which should be well above the number of players, that can be online at once.
+ *
+ * @author Rysefoxx
+ * @since 17.10.2026
+ */
+public class PlayerCachePolicy {
+
+    private final Set<UUID> onlinePlayers = ConcurrentHashMap.newKeySet();
+    private final List<AsyncCache<UUID, ?>> caches = new CopyOnWriteArrayList<>();
+    private final long maximumSize;
+    private final long gracePeriod;
+
+    /**
+     * Creates a new policy.
+     *
+     * @param maximumSize The maximum number of players per cache.
+     * @param gracePeriod The seconds the state of an offline player stays cached.
+     */
+    public PlayerCachePolicy(@Nonnegative long maximumSize, @Nonnegative long gracePeriod) {
+        this.maximumSize = maximumSize;
+        this.gracePeriod = TimeUnit.SECONDS.toNanos(gracePeriod);
+    }
+
+    /**
+     * @return The maximum number of players per cache.
+     */
+    public long getMaximumSize() {
+        return this.maximumSize;
+    }
+
+    /**
+     * Creates the expiry for a cache, that stores state by the uuid of the player.
+     *
+     * @return The expiry.
+     */
+    public @NotNull Expiry<UUID, Object> expiry() {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(@NotNull UUID uuid, @NotNull Object value, long currentTime) {
+                return durationOf(uuid);
+            }
+
+            @Override
+            public long expireAfterUpdate(@NotNull UUID uuid, @NotNull Object value, long currentTime, long currentDuration) {
+                return durationOf(uuid);
+            }
+
+            @Override
+            public long expireAfterRead(@NotNull UUID uuid, @NotNull Object value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    /**
+     * Registers a cache, so its entries are pinned and released, when the player joins and quits.
+     *
+     * @param cache The cache to register.
+     * @param <C>   The type of the cache.
+     * @return The given cache.
+     */
+    public <C extends AsyncCache<UUID, ?>> @NotNull C register(@NotNull C cache) {
+        this.caches.add(cache);
+        return cache;
+    }
+
+    /**
+     * Pins the cached state of the player until he quits.
+     *
+     * @param uuid The uuid of the player.
+     */
+    public void markOnline(@NotNull UUID uuid) {
+        this.onlinePlayers.add(uuid);
+        setExpiresAfter(uuid, Long.MAX_VALUE);
+    }
+
+    /**
+     * Releases the cached state of the player, it expires after the grace period.
+     *
+     * @param uuid The uuid of the player.
+     */
+    public void markOffline(@NotNull UUID uuid) {
+        this.onlinePlayers.remove(uuid);
+        setExpiresAfter(uuid, this.gracePeriod);
+    }
+
+    /**
+     * @param uuid The uuid of the player.
+     * @return The nanoseconds until the state of the player expires.
+     */
+    private long durationOf(@NotNull UUID uuid) {
+        return this.onlinePlayers.contains(uuid) ? Long.MAX_VALUE : this.gracePeriod;
+    }
+
+    /**
+     * Changes the expiration of the state of the player in all registered caches.
+     *
+     * @param uuid     The uuid of the player.
+     * @param duration The nanoseconds until the state expires.
+     */
+    private void setExpiresAfter(@NotNull UUID uuid, long duration) {
+        for (AsyncCache<UUID, ?> cache : this.caches) {
+            cache.synchronous().policy().expireVariably().ifPresent(expiration -> expiration.setExpiresAfter(uuid, duration, TimeUnit.NANOSECONDS));
+        }
+    }
+}
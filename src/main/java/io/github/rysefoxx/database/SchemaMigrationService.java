@@ -0,0 +1,269 @@
+package io.github.rysefoxx.database;
+
+import io.github.rysefoxx.PlayLegendQuest;
+import org.apache.commons.io.IOUtils;
+import org.jetbrains.annotations.NotNull;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.zip.CRC32;
+
+/**
+ * Applies the migration scripts in db/migration once and in order. Applied scripts are recorded with their checksum in the schema_version table, so a startup with a current schema only reads that table.
+ * <br>
+ * Servers sharing the database may start at the same time, so the check and the migration run under a named database lock. The second server waits and then only reads the applied versions.
+ * <br>
+ * New scripts have to be added to {@link #MIGRATIONS}. Applied scripts must never be changed, add a new script instead.
+ *
+ * @author Rysefoxx
+ * @since 17.10.2026
+ */
+public class SchemaMigrationService {
+
+    private static final String MIGRATION_PATH = "db/migration/";
+    private static final List<String> MIGRATIONS = List.of(
+            "V1__initial_schema.sql",
+            "V2__align_schema_with_entities.sql",
+            "V3__add_progress_and_user_indexes.sql",
+            "V4__unique_active_quest_per_player.sql",
+            "V5__add_player_stats_version.sql"
+    );
+
+    private static final String CREATE_SCHEMA_VERSION = "CREATE TABLE IF NOT EXISTS schema_version (version INT PRIMARY KEY NOT NULL, script VARCHAR(255) NOT NULL, checksum BIGINT NOT NULL, installed_on DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP)";
+    private static final String SELECT_APPLIED = "SELECT version, checksum FROM schema_version";
+    private static final String INSERT_APPLIED = "INSERT INTO schema_version (version, script, checksum) VALUES (?, ?, ?)";
+    private static final String LOCK_NAME = "legend_schema";
+    private static final int LOCK_TIMEOUT_SECONDS = 60;
+    private static final String GET_LOCK = "SELECT GET_LOCK(?, ?)";
+    private static final String RELEASE_LOCK = "SELECT RELEASE_LOCK(?)";
+    private static final String COUNT_DISPLAY_NAME_COLUMNS = "SELECT COUNT(*) FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'quest_model' AND COLUMN_NAME IN ('displayName', 'display_name')";
+    private static final String COPY_DISPLAY_NAME = "UPDATE quest_model SET display_name = displayName WHERE displayName IS NOT NULL";
+    private static final String DROP_DISPLAY_NAME = "ALTER TABLE quest_model DROP COLUMN displayName";
+
+    private final PlayLegendQuest plugin;
+    private final DataSource dataSource;
+
+    /**
+     * Creates a new migration service.
+     *
+     * @param plugin     The plugin instance.
+     * @param dataSource The datasource to migrate.
+     */
+    public SchemaMigrationService(@NotNull PlayLegendQuest plugin, @NotNull DataSource dataSource) {
+        this.plugin = plugin;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Applies all pending migrations. The migration takes place synchronously, as there are no users on the server when the plugin is started and the users should only join when the schema is current.
+     *
+     * @return true if the schema is current, false if a migration failed or an applied script has been changed.
+     */
+    public boolean migrate() {
+        try (Connection connection = this.dataSource.getConnection()) {
+            if (!acquireLock(connection)) {
+                this.plugin.getLogger().severe("Failed to acquire the schema lock within " + LOCK_TIMEOUT_SECONDS + " seconds!");
+                return false;
+            }
+
+            try {
+                return applyPendingMigrations(connection);
+            } finally {
+                releaseLock(connection);
+            }
+        } catch (SQLException | IOException e) {
+            this.plugin.getLogger().log(Level.SEVERE, "Failed to migrate the database schema: " + e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Applies all pending migrations. Must only be called while holding the schema lock.
+     *
+     * @param connection The connection holding the lock.
+     * @return true if the schema is current, false if an applied script has been changed.
+     * @throws SQLException If a migration fails.
+     * @throws IOException  If a script can not be read.
+     */
+    private boolean applyPendingMigrations(@NotNull Connection connection) throws SQLException, IOException {
+        Map<Integer, Long> applied = getAppliedMigrations(connection);
+
+        for (String script : MIGRATIONS) {
+            int version = parseVersion(script);
+            String content = readScript(script);
+            long checksum = checksum(content);
+
+            Long appliedChecksum = applied.get(version);
+            if (appliedChecksum != null) {
+                if (appliedChecksum == checksum) continue;
+
+                this.plugin.getLogger().severe("Migration " + script + " has been changed after it was applied!");
+                return false;
+            }
+
+            applyMigration(connection, script, version, checksum, content);
+            this.plugin.getLogger().info("Applied migration " + script);
+        }
+        return true;
+    }
+
+    /**
+     * Acquires the named schema lock. The lock belongs to the connection, which is returned to the pool afterwards, so it must always be released.
+     *
+     * @param connection The connection to lock with.
+     * @return true if the lock was acquired.
+     * @throws SQLException If the lock can not be requested.
+     */
+    private boolean acquireLock(@NotNull Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(GET_LOCK)) {
+            statement.setString(1, LOCK_NAME);
+            statement.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getInt(1) == 1;
+            }
+        }
+    }
+
+    /**
+     * Releases the named schema lock. A failure is only logged, the lock is released by the database once the connection is closed by the pool.
+     *
+     * @param connection The connection holding the lock.
+     */
+    private void releaseLock(@NotNull Connection connection) {
+        try (PreparedStatement statement = connection.prepareStatement(RELEASE_LOCK)) {
+            statement.setString(1, LOCK_NAME);
+            statement.executeQuery().close();
+        } catch (SQLException e) {
+            this.plugin.getLogger().log(Level.WARNING, "Failed to release the schema lock: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads the applied migrations. The schema_version table is only created if it does not exist yet.
+     *
+     * @param connection The connection to use.
+     * @return The checksums of the applied migrations by their version.
+     * @throws SQLException If the table can not be read.
+     */
+    private @NotNull Map<Integer, Long> getAppliedMigrations(@NotNull Connection connection) throws SQLException {
+        try (ResultSet tables = connection.getMetaData().getTables(connection.getCatalog(), null, "schema_version", new String[]{"TABLE"})) {
+            if (!tables.next()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(CREATE_SCHEMA_VERSION);
+                }
+            }
+        }
+
+        Map<Integer, Long> applied = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(SELECT_APPLIED)) {
+            while (resultSet.next()) {
+                applied.put(resultSet.getInt(1), resultSet.getLong(2));
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Executes the statements of the script and records it as applied. The statements and the record run in one transaction. MariaDB commits DDL statements implicitly, so a failed DDL script is not rolled back, but it is not recorded either and the schema lock keeps other servers from running it at the same time.
+     *
+     * @param connection The connection to use.
+     * @param script     The name of the script.
+     * @param version    The version of the script.
+     * @param checksum   The checksum of the script.
+     * @param content    The content of the script.
+     * @throws SQLException If a statement fails.
+     */
+    private void applyMigration(@NotNull Connection connection, @NotNull String script, int version, long checksum, @NotNull String content) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            prepareMigration(connection, version);
+            try (Statement statement = connection.createStatement()) {
+                for (String query : content.split(";")) {
+                    if (query.isBlank()) continue;
+                    statement.execute(query);
+                }
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_APPLIED)) {
+                statement.setInt(1, version);
+                statement.setString(2, script);
+                statement.setLong(3, checksum);
+                statement.executeUpdate();
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Repairs states of the schema, that a script can not handle itself. Applied scripts must not be changed, so the repair runs before the script.
+     * <br>
+     * Before version 2, hibernate added the column displayName to quest_model, even if tables.sql had already created display_name. On such installs the rename of version 2 would fail, so the names are copied to display_name and displayName is dropped.
+     *
+     * @param connection The connection to use.
+     * @param version    The version of the script, that is applied next.
+     * @throws SQLException If the repair fails.
+     */
+    private void prepareMigration(@NotNull Connection connection, int version) throws SQLException {
+        if (version != 2) return;
+
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet resultSet = statement.executeQuery(COUNT_DISPLAY_NAME_COLUMNS)) {
+                if (!resultSet.next() || resultSet.getInt(1) < 2) return;
+            }
+
+            statement.executeUpdate(COPY_DISPLAY_NAME);
+            statement.execute(DROP_DISPLAY_NAME);
+            this.plugin.getLogger().info("Merged quest_model.displayName into display_name");
+        }
+    }
+
+    /**
+     * Reads the script from the plugin jar.
+     *
+     * @param script The name of the script.
+     * @return The content of the script.
+     * @throws IOException If the script does not exist or can not be read.
+     */
+    private @NotNull String readScript(@NotNull String script) throws IOException {
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(MIGRATION_PATH + script)) {
+            if (inputStream == null) throw new IOException("Migration " + script + " not found");
+            return IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Parses the version of the script. Scripts are named V{version}__{description}.sql.
+     *
+     * @param script The name of the script.
+     * @return The version of the script.
+     */
+    private int parseVersion(@NotNull String script) {
+        return Integer.parseInt(script.substring(1, script.indexOf("__")));
+    }
+
+    /**
+     * Calculates the checksum of the script. Line endings are normalized, so a checkout on another system does not change the checksum.
+     *
+     * @param content The content of the script.
+     * @return The checksum of the script.
+     */
+    private long checksum(@NotNull String content) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(content.replace("\r\n", "\n").getBytes(StandardCharsets.UTF_8));
+        return crc32.getValue();
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.rysefoxx.enums;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Where progress notifications are shown to the player.
+ *
+ * @author Rysefoxx
+ * @since 17.10.2026
+ */
+public enum NotificationMode {
+
+    ACTION_BAR,
+    CHAT,
+    NONE;
+
+    public static @Nullable NotificationMode getNotificationMode(@NotNull String mode) {
+        return Arrays.stream(values())
+                .filter(notificationMode -> notificationMode.toString().replace('_', '-').equalsIgnoreCase(mode.replace('_', '-')))
+                .findFirst()
+                .orElse(null);
+    }
+
+}
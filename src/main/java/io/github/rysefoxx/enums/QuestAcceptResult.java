@@ -0,0 +1,16 @@
+package io.github.rysefoxx.enums;
+
+/**
+ * The result of accepting a quest.
+ *
+ * @author Rysefoxx
+ * @since 17.10.2026
+ */
+public enum QuestAcceptResult {
+
+    SUCCESS,
+    ALREADY_ACTIVE,
+    ALREADY_COMPLETED,
+    ERROR,
+
+}
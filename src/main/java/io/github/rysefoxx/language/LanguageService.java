@@ -92,11 +92,23 @@ public class LanguageService {
      * @param replacements The replacements to replace in the message.
      */
     public void sendTranslatedMessage(@NotNull Player player, @NotNull String messageKey, String @NotNull ... replacements) {
+        player.sendRichMessage(getTranslatedMessage(player, messageKey, replacements));
+    }
+
+    /**
+     * Returns a translated message.
+     *
+     * @param player       The {@link Player} to get the locale from.
+     * @param messageKey   The message key to get.
+     * @param replacements The replacements to replace in the message.
+     * @return The translated message.
+     */
+    public @NotNull String getTranslatedMessage(@NotNull Player player, @NotNull String messageKey, String @NotNull ... replacements) {
         String translation = getTranslatedMessage(player, messageKey);
         for (String replacement : replacements) {
             translation = translation.replaceFirst("%s", replacement);
         }
-        player.sendRichMessage(translation);
+        return translation;
     }
 
     /**
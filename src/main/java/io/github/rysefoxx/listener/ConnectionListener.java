@@ -1,18 +1,32 @@
 package io.github.rysefoxx.listener;
 
 import io.github.rysefoxx.PlayLegendQuest;
+import io.github.rysefoxx.database.ConnectionService;
 import io.github.rysefoxx.language.LanguageService;
+import io.github.rysefoxx.progress.ActiveQuestStateStore;
 import io.github.rysefoxx.progress.QuestUserProgressService;
-import io.github.rysefoxx.quest.QuestModel;
+import io.github.rysefoxx.quest.QuestDefinition;
+import io.github.rysefoxx.quest.QuestService;
+import io.github.rysefoxx.reward.QuestRewardService;
 import io.github.rysefoxx.scoreboard.ScoreboardService;
+import io.github.rysefoxx.user.QuestUserService;
+import io.github.rysefoxx.util.LogUtils;
 import lombok.RequiredArgsConstructor;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+
 /**
  * @author Rysefoxx
  * @since 17.05.2024
@@ -21,30 +35,72 @@ import org.jetbrains.annotations.NotNull;
 public class ConnectionListener implements Listener {
 
     private final QuestUserProgressService questUserProgressService;
+    private final QuestUserService questUserService;
+    private final QuestService questService;
+    private final QuestRewardService questRewardService;
+    private final ActiveQuestStateStore activeQuestStateStore;
     private final ScoreboardService scoreboardService;
     private final LanguageService languageService;
+    private final PrefetchBatcher prefetchBatcher;
+    /**
+     * Milliseconds the login waits for the data of the player, configured in the database.yml.
+     */
+    private final long prefetchTimeout;
+
+    /**
+     * Loads the progress, the active quest and the statistics of the player in parallel into the caches, so the join does not wait for the database. The event is called off the main thread, so waiting here only delays the login of this player. Players logging in at the same time are loaded together by the {@link PrefetchBatcher}.
+     * <br>
+     * If the data is not loaded within the timeout, the player joins anyway and the data is loaded lazily, the pending loads still fill the caches.
+     *
+     * @param event The event.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    private void onPreLogin(@NotNull AsyncPlayerPreLoginEvent event) {
+        if (PlayLegendQuest.isUnitTest()) return;
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+
+        CompletableFuture<Void> prefetch = this.prefetchBatcher.prefetch(event.getUniqueId());
+        try {
+            prefetch.get(this.prefetchTimeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            PlayLegendQuest.getLog().warning("Loading the data of " + event.getName() + " took longer than " + this.prefetchTimeout + "ms, it is loaded after the join.");
+        } catch (ExecutionException e) {
+            PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to load the data of " + event.getName() + ": " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 
     @EventHandler
     private void onJoin(@NotNull PlayerJoinEvent event) {
         if (PlayLegendQuest.isUnitTest()) return;
 
         Player player = event.getPlayer();
+        ConnectionService.getPlayerCachePolicy().markOnline(player.getUniqueId());
         this.scoreboardService.create(player);
+        this.questRewardService.rewardPending(player);
 
         this.questUserProgressService.findByUuid(player.getUniqueId()).thenAccept(questUserProgressModels -> {
+            this.activeQuestStateStore.put(player.getUniqueId(), questUserProgressModels);
+
             if (questUserProgressModels == null || questUserProgressModels.isEmpty()) {
                 this.languageService.sendTranslatedMessage(player, "quest_no_active");
                 return;
             }
 
-            QuestModel questModel = questUserProgressModels.get(0).getQuest();
-            questModel.sendProgressToUser(player, this.languageService, questUserProgressModels);
-        });
+            QuestDefinition questDefinition = this.questService.definitionOf(questUserProgressModels.get(0).getQuest());
+            this.questUserService.findByUuid(player.getUniqueId())
+                    .thenAccept(questUserModel -> questDefinition.sendProgressToUser(player, this.languageService, questUserProgressModels, questUserModel))
+                    .exceptionally(throwable -> LogUtils.handleError(null, "Failed to load the active quest of " + player.getName(), throwable));
+        }).exceptionally(throwable -> LogUtils.handleError(null, "Failed to load the progress of " + player.getName(), throwable));
     }
 
     @EventHandler
     private void onQuit(@NotNull PlayerQuitEvent event) {
         Player player = event.getPlayer();
         this.scoreboardService.destroy(player);
+        this.activeQuestStateStore.remove(player.getUniqueId());
+        this.questUserProgressService.flush(player.getUniqueId());
+        ConnectionService.getPlayerCachePolicy().markOffline(player.getUniqueId());
     }
 }
\ No newline at end of file
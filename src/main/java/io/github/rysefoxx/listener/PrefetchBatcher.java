@@ -0,0 +1,91 @@
+package io.github.rysefoxx.listener;
+
+import io.github.rysefoxx.database.ConnectionService;
+import io.github.rysefoxx.progress.QuestUserProgressService;
+import io.github.rysefoxx.stats.PlayerStatisticsService;
+import io.github.rysefoxx.user.QuestUserService;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nonnegative;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the players, that log in within a short window, and loads their data with one query per cache. After a restart, hundreds of players log in within seconds, without the window every one of them would cost three queries.
+ *
+ * @author Rysefoxx
+ * @since 17.10.2026
+ */
+public class PrefetchBatcher {
+
+    private final QuestUserProgressService questUserProgressService;
+    private final QuestUserService questUserService;
+    private final PlayerStatisticsService playerStatisticsService;
+    private final Executor delayedExecutor;
+    private Map<UUID, CompletableFuture<Void>> pending = new HashMap<>();
+
+    /**
+     * Creates a new batcher.
+     *
+     * @param questUserProgressService The service of the progress.
+     * @param questUserService         The service of the active quests.
+     * @param playerStatisticsService  The service of the statistics.
+     * @param window                   The milliseconds, in which logins are collected into one batch.
+     */
+    public PrefetchBatcher(@NotNull QuestUserProgressService questUserProgressService,
+                           @NotNull QuestUserService questUserService,
+                           @NotNull PlayerStatisticsService playerStatisticsService,
+                           @Nonnegative long window) {
+        this.questUserProgressService = questUserProgressService;
+        this.questUserService = questUserService;
+        this.playerStatisticsService = playerStatisticsService;
+        this.delayedExecutor = CompletableFuture.delayedExecutor(window, TimeUnit.MILLISECONDS, ConnectionService.getExecutor());
+    }
+
+    /**
+     * Adds the player to the current batch. The first player of a batch starts the window, the batch is loaded when it ends.
+     *
+     * @param uuid The uuid of the player.
+     * @return A future, that completes once the data of the player is cached.
+     */
+    public @NotNull CompletableFuture<Void> prefetch(@NotNull UUID uuid) {
+        synchronized (this) {
+            CompletableFuture<Void> future = this.pending.get(uuid);
+            if (future != null) return future;
+
+            future = new CompletableFuture<>();
+            if (this.pending.isEmpty()) this.delayedExecutor.execute(this::flush);
+            this.pending.put(uuid, future);
+            return future;
+        }
+    }
+
+    /**
+     * Loads the data of all players of the current batch. Data, that is already cached, is not loaded again.
+     */
+    private void flush() {
+        Map<UUID, CompletableFuture<Void>> batch;
+        synchronized (this) {
+            batch = this.pending;
+            this.pending = new HashMap<>();
+        }
+
+        Set<UUID> uuids = batch.keySet();
+        CompletableFuture.allOf(
+                this.questUserProgressService.findAllByUuid(uuids),
+                this.questUserService.findAllByUuid(uuids),
+                this.playerStatisticsService.getAllPlayerStats(uuids)
+        ).whenComplete((unused, throwable) -> batch.values().forEach(future -> {
+            if (throwable != null) {
+                future.completeExceptionally(throwable);
+                return;
+            }
+            future.complete(null);
+        }));
+    }
+}
@@ -2,7 +2,9 @@ package io.github.rysefoxx.listener;
 
 import io.github.rysefoxx.language.LanguageService;
 import io.github.rysefoxx.progress.QuestUserProgressService;
-import io.github.rysefoxx.quest.QuestModel;
+import io.github.rysefoxx.quest.QuestDefinition;
+import io.github.rysefoxx.quest.QuestService;
+import io.github.rysefoxx.util.LogUtils;
 import lombok.RequiredArgsConstructor;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
@@ -24,6 +26,7 @@ public class SignChangeListener implements Listener {
 
     private static final PlainTextComponentSerializer SERIALIZER = PlainTextComponentSerializer.plainText();
     private final QuestUserProgressService questUserProgressService;
+    private final QuestService questService;
     private final LanguageService languageService;
 
     @EventHandler
@@ -49,10 +52,10 @@ public class SignChangeListener implements Listener {
                     return;
                 }
 
-                QuestModel questModel = questUserProgressModels.get(0).getQuest();
-                event.line(1, Component.text(questModel.getName()));
-                event.line(3, Component.text(questModel.getCompletedRequirementsCount(questUserProgressModels) + "/" + questModel.getRequirements().size()));
-            });
+                QuestDefinition questDefinition = this.questService.definitionOf(questUserProgressModels.get(0).getQuest());
+                event.line(1, Component.text(questDefinition.name()));
+                event.line(3, Component.text(questDefinition.getCompletedRequirementsCount(questUserProgressModels) + "/" + questDefinition.requirements().size()));
+            }).exceptionally(throwable -> LogUtils.handleError(null, "Failed to load the progress of " + target.getName(), throwable));
             break;
         }
     }
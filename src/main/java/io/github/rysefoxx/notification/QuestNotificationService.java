@@ -0,0 +1,155 @@
+package io.github.rysefoxx.notification;
+
+import io.github.rysefoxx.PlayLegendQuest;
+import io.github.rysefoxx.database.ConnectionService;
+import io.github.rysefoxx.enums.NotificationMode;
+import io.github.rysefoxx.language.LanguageService;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nonnegative;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Sends quest notifications to the players. Progress updates are coalesced per player and shown in the action bar or the chat, at most as often per second as configured in the notifications section of the database.yml. Only the latest progress is shown, everything in between is dropped before it is formatted, translated or parsed.
+ * <br>
+ * Milestones, like a completed requirement or quest, are sent to the chat right away.
+ * <br>
+ * All methods must be called on the main thread.
+ *
+ * @author Rysefoxx
+ * @since 17.10.2026
+ */
+public class QuestNotificationService {
+
+    private final LanguageService languageService;
+    private final NotificationMode mode;
+    private final Map<UUID, PendingNotification> pendingNotifications = new HashMap<>();
+
+    /**
+     * Creates a new service instance and starts the scheduler, which emits the pending progress notifications.
+     *
+     * @param plugin          The plugin instance.
+     * @param languageService The language service to use for translations.
+     */
+    public QuestNotificationService(@NotNull PlayLegendQuest plugin, @NotNull LanguageService languageService) {
+        this.languageService = languageService;
+
+        ConnectionService connectionService = plugin.getConnectionService();
+        YamlConfiguration config = connectionService.getConfig();
+        this.mode = readMode(plugin, config);
+        if (this.mode == NotificationMode.NONE) return;
+
+        int maxPerSecond = Math.min(20, connectionService.getPositive(config, "notifications.max-per-second", 4));
+        long period = Math.max(1, 20 / maxPerSecond);
+        Bukkit.getScheduler().runTaskTimer(plugin, this::emitPending, period, period);
+    }
+
+    /**
+     * Reads the delivery mode of the progress notifications. An unknown mode is replaced by the action bar and a warning is logged.
+     *
+     * @param plugin The plugin instance.
+     * @param config The config to read from.
+     * @return The delivery mode.
+     */
+    private @NotNull NotificationMode readMode(@NotNull PlayLegendQuest plugin, @NotNull YamlConfiguration config) {
+        String value = config.getString("notifications.mode", "action-bar");
+        NotificationMode notificationMode = NotificationMode.getNotificationMode(value);
+        if (notificationMode != null) return notificationMode;
+
+        plugin.getLogger().warning("Invalid value " + value + " for notifications.mode in database.yml, using action-bar instead.");
+        return NotificationMode.ACTION_BAR;
+    }
+
+    /**
+     * Queues a progress notification for the player. It replaces the progress notification that has not been shown yet. The message is only formatted, when it is shown.
+     *
+     * @param player         The player to notify.
+     * @param messageKey     The message key to send, it is given the progress and the required amount as replacements.
+     * @param progress       The current progress.
+     * @param requiredAmount The required amount.
+     */
+    public void sendProgress(@NotNull Player player, @NotNull String messageKey, @Nonnegative int progress, @Nonnegative int requiredAmount) {
+        if (this.mode == NotificationMode.NONE) return;
+
+        PendingNotification pending = this.pendingNotifications.get(player.getUniqueId());
+        if (pending == null) {
+            this.pendingNotifications.put(player.getUniqueId(), new PendingNotification(messageKey, progress, requiredAmount));
+            return;
+        }
+        pending.update(messageKey, progress, requiredAmount);
+    }
+
+    /**
+     * Sends a milestone notification to the chat of the player immediately.
+     *
+     * @param player       The player to notify.
+     * @param messageKey   The message key to send.
+     * @param replacements The replacements to replace in the message.
+     */
+    public void sendMilestone(@NotNull Player player, @NotNull String messageKey, String @NotNull ... replacements) {
+        this.languageService.sendTranslatedMessage(player, messageKey, replacements);
+    }
+
+    /**
+     * Drops the pending notification of the player.
+     *
+     * @param uuid The uuid of the player.
+     */
+    public void clear(@NotNull UUID uuid) {
+        this.pendingNotifications.remove(uuid);
+    }
+
+    /**
+     * Shows the latest pending progress notification of every player.
+     */
+    private void emitPending() {
+        if (this.pendingNotifications.isEmpty()) return;
+
+        Iterator<Map.Entry<UUID, PendingNotification>> iterator = this.pendingNotifications.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, PendingNotification> entry = iterator.next();
+            iterator.remove();
+
+            Player player = Bukkit.getPlayer(entry.getKey());
+            if (player == null) continue;
+
+            PendingNotification notification = entry.getValue();
+            String translation = this.languageService.getTranslatedMessage(player, notification.messageKey, String.valueOf(notification.progress), String.valueOf(notification.requiredAmount));
+            Component component = MiniMessage.miniMessage().deserialize(translation);
+            if (this.mode == NotificationMode.CHAT) {
+                player.sendMessage(component);
+                continue;
+            }
+            player.sendActionBar(component);
+        }
+    }
+
+    /**
+     * A progress notification that has not been shown yet. It is updated in place, so coalesced progress does not allocate.
+     */
+    private static final class PendingNotification {
+
+        private String messageKey;
+        private int progress;
+        private int requiredAmount;
+
+        private PendingNotification(@NotNull String messageKey, @Nonnegative int progress, @Nonnegative int requiredAmount) {
+            update(messageKey, progress, requiredAmount);
+        }
+
+        private void update(@NotNull String messageKey, @Nonnegative int progress, @Nonnegative int requiredAmount) {
+            this.messageKey = messageKey;
+            this.progress = progress;
+            this.requiredAmount = requiredAmount;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package io.github.rysefoxx.progress;
+
+import io.github.rysefoxx.quest.QuestDefinition;
+import io.github.rysefoxx.quest.QuestRequirementDefinition;
+import io.github.rysefoxx.quest.type.RequirementType;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nonnegative;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The active quest of an online player, only mutated on the main thread. Every requirement gets a slot with a primitive progress counter.
+ * <br>
+ * The keys of the open requirements are kept as one bitset per {@link RequirementType}.
+ *
+ * @author Rysefoxx
+ * @since 17.10.2026
+ */
+public class ActiveQuestState {
+
+    @Getter
+    private final UUID uuid;
+    @Getter
+    private final QuestDefinition quest;
+    /**
+     * Open addressing table from the requirement id to its slot. {@link #slotIndex} stores the slot + 1, so 0 marks an empty bucket.
+     */
+    private final long[] slotKeys;
+    private final int[] slotIndex;
+    private final int[] requiredAmounts;
+    private final int[] progress;
+    private final QuestUserProgressModel[] progressModels;
+    /**
+     * The type id and the key every slot is waiting for. The key is -1, if the requirement has no key.
+     */
+    private final int[] interestTypes;
+    private final int[] interestKeys;
+    /**
+     * The interests indexed by the id of the {@link RequirementType}.
+     */
+    private BitSet[] interests = new BitSet[0];
+    private int openRequirements;
+
+    /**
+     * Creates the state from the loaded progress of the player.
+     *
+     * @param uuid                    The uuid of the player.
+     * @param quest                   The active quest of the player.
+     * @param questUserProgressModels The progress of the player. Every model gets its own slot.
+     */
+    public ActiveQuestState(@NotNull UUID uuid, @NotNull QuestDefinition quest, @NotNull List<QuestUserProgressModel> questUserProgressModels) {
+        int size = questUserProgressModels.size();
+        this.uuid = uuid;
+        this.quest = quest;
+        int capacity = Integer.highestOneBit(Math.max(1, size) * 2 - 1) << 1;
+        this.slotKeys = new long[capacity];
+        this.slotIndex = new int[capacity];
+        this.requiredAmounts = new int[size];
+        this.progress = new int[size];
+        this.progressModels = questUserProgressModels.toArray(new QuestUserProgressModel[0]);
+        this.interestTypes = new int[size];
+        this.interestKeys = new int[size];
+
+        for (int slot = 0; slot < size; slot++) {
+            QuestUserProgressModel questUserProgressModel = this.progressModels[slot];
+            QuestRequirementDefinition requirement = requirementOf(questUserProgressModel);
+            putSlot(requirement.id(), slot);
+            this.requiredAmounts[slot] = requirement.requiredAmount();
+            this.progress[slot] = questUserProgressModel.getProgress();
+            this.interestTypes[slot] = requirement.type().getId();
+            this.interestKeys[slot] = requirement.key();
+            if (isCompleted(slot)) continue;
+
+            this.openRequirements++;
+            addInterest(slot);
+        }
+    }
+
+    /**
+     * Gets the requirement of the progress from the quest. Progress of a requirement, that was removed after the quest was published, is copied from its entity.
+     *
+     * @param questUserProgressModel The progress of the player.
+     * @return The requirement of the progress.
+     */
+    private @NotNull QuestRequirementDefinition requirementOf(@NotNull QuestUserProgressModel questUserProgressModel) {
+        QuestRequirementDefinition requirement = this.quest.requirements().get(questUserProgressModel.getRequirement().getId());
+        return requirement != null ? requirement : QuestRequirementDefinition.of(questUserProgressModel.getRequirement());
+    }
+
+    /**
+     * Adds the slot of the requirement to the index.
+     *
+     * @param requirementId The id of the requirement.
+     * @param slot          The slot of the requirement.
+     */
+    private void putSlot(long requirementId, @Nonnegative int slot) {
+        int mask = this.slotKeys.length - 1;
+        int bucket = bucketOf(requirementId, mask);
+        while (this.slotIndex[bucket] != 0 && this.slotKeys[bucket] != requirementId) {
+            bucket = (bucket + 1) & mask;
+        }
+        this.slotKeys[bucket] = requirementId;
+        this.slotIndex[bucket] = slot + 1;
+    }
+
+    /**
+     * @param requirementId The id of the requirement.
+     * @param mask          The capacity of the index - 1.
+     * @return The first bucket to probe for the requirement.
+     */
+    private int bucketOf(long requirementId, int mask) {
+        return Long.hashCode(requirementId * 0x9E3779B97F4A7C15L) & mask;
+    }
+
+    /**
+     * Adds the key of the slot to the interests of its type.
+     *
+     * @param slot The open slot.
+     */
+    private void addInterest(@Nonnegative int slot) {
+        int type = this.interestTypes[slot];
+        int key = this.interestKeys[slot];
+        if (key < 0) return;
+
+        if (type >= this.interests.length) this.interests = Arrays.copyOf(this.interests, type + 1);
+        if (this.interests[type] == null) this.interests[type] = new BitSet();
+        this.interests[type].set(key);
+    }
+
+    /**
+     * Removes the key of the completed slot from the interests of its type, unless another open slot waits for the same key.
+     *
+     * @param slot The completed slot.
+     */
+    private void removeInterest(@Nonnegative int slot) {
+        int type = this.interestTypes[slot];
+        int key = this.interestKeys[slot];
+        if (key < 0) return;
+
+        for (int other = 0; other < this.progress.length; other++) {
+            if (!isCompleted(other) && this.interestTypes[other] == type && this.interestKeys[other] == key) return;
+        }
+        this.interests[type].clear(key);
+    }
+
+    /**
+     * @param type The type of the event.
+     * @param key  The key of the event.
+     * @return true if an open requirement of the type is waiting for the key.
+     */
+    public boolean isInterestedIn(@NotNull RequirementType<?, ?> type, @Nonnegative int key) {
+        int id = type.getId();
+        return id < this.interests.length && this.interests[id] != null && this.interests[id].get(key);
+    }
+
+    /**
+     * Gets the slot of the given requirement.
+     *
+     * @param requirementId The id of the requirement.
+     * @return The slot or -1 if the requirement is not part of the active quest.
+     */
+    public int slotOf(long requirementId) {
+        int mask = this.slotKeys.length - 1;
+        int bucket = bucketOf(requirementId, mask);
+        // The index is at most half full, so the probe always reaches an empty bucket.
+        while (this.slotIndex[bucket] != 0) {
+            if (this.slotKeys[bucket] == requirementId) return this.slotIndex[bucket] - 1;
+            bucket = (bucket + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Increases the progress of the slot. The progress never exceeds the required amount.
+     *
+     * @param slot      The slot to increase.
+     * @param increment The amount to increase the progress by.
+     * @return The new progress of the slot.
+     */
+    public int increment(@Nonnegative int slot, @Nonnegative int increment) {
+        if (isCompleted(slot)) return this.progress[slot];
+
+        this.progress[slot] = (int) Math.min((long) this.progress[slot] + increment, this.requiredAmounts[slot]);
+        if (isCompleted(slot)) {
+            this.openRequirements--;
+            removeInterest(slot);
+        }
+
+        return this.progress[slot];
+    }
+
+    /**
+     * @param slot The slot to get the progress of.
+     * @return The progress of the slot.
+     */
+    public int getProgress(@Nonnegative int slot) {
+        return this.progress[slot];
+    }
+
+    /**
+     * @param slot The slot to get the required amount of.
+     * @return The required amount of the slot.
+     */
+    public int getRequiredAmount(@Nonnegative int slot) {
+        return this.requiredAmounts[slot];
+    }
+
+    /**
+     * @param slot The slot to get the progress model of.
+     * @return The progress model backing the slot. It is used to persist the progress.
+     */
+    public @NotNull QuestUserProgressModel getProgressModel(@Nonnegative int slot) {
+        return this.progressModels[slot];
+    }
+
+    /**
+     * @return The progress models backing all slots.
+     */
+    public @NotNull List<QuestUserProgressModel> getProgressModels() {
+        return List.of(this.progressModels);
+    }
+
+    /**
+     * @param slot The slot to check.
+     * @return true if the required amount of the slot is reached.
+     */
+    public boolean isCompleted(@Nonnegative int slot) {
+        return this.progress[slot] >= this.requiredAmounts[slot];
+    }
+
+    /**
+     * @return true if all requirements of the quest are completed.
+     */
+    public boolean isQuestCompleted() {
+        return this.openRequirements == 0;
+    }
+}
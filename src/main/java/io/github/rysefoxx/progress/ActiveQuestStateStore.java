@@ -0,0 +1,86 @@
+package io.github.rysefoxx.progress;
+
+import io.github.rysefoxx.quest.QuestService;
+import io.github.rysefoxx.util.LogUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the {@link ActiveQuestState} of every online player with an active quest. The requirement events read from here instead of going through the {@link QuestUserProgressService} cache.
+ *
+ * @author Rysefoxx
+ * @since 17.10.2026
+ */
+public class ActiveQuestStateStore {
+
+    private final Map<UUID, ActiveQuestState> states = new ConcurrentHashMap<>();
+    private final QuestUserProgressService questUserProgressService;
+    private final QuestService questService;
+
+    public ActiveQuestStateStore(@NotNull QuestUserProgressService questUserProgressService, @NotNull QuestService questService) {
+        this.questUserProgressService = questUserProgressService;
+        this.questService = questService;
+    }
+
+    /**
+     * Gets the active quest state of the player.
+     *
+     * @param uuid The uuid of the player.
+     * @return The state or null if the player has no active quest or is not loaded.
+     */
+    public @Nullable ActiveQuestState get(@NotNull UUID uuid) {
+        return this.states.get(uuid);
+    }
+
+    /**
+     * Loads the progress of the player and replaces the current state with it.
+     *
+     * @param uuid The uuid of the player.
+     * @return A future that completes when the state has been replaced.
+     */
+    public @NotNull CompletableFuture<@Nullable Void> load(@NotNull UUID uuid) {
+        return this.questUserProgressService.findByUuid(uuid)
+                .thenAccept(questUserProgressModels -> put(uuid, questUserProgressModels))
+                .exceptionally(throwable -> LogUtils.handleError(null, "Failed to load active quest state for " + uuid, throwable));
+    }
+
+    /**
+     * Replaces the state of the player with the given progress. If the player has no open progress, the state is removed.
+     *
+     * @param uuid                    The uuid of the player.
+     * @param questUserProgressModels The progress of the player.
+     */
+    public void put(@NotNull UUID uuid, @Nullable List<QuestUserProgressModel> questUserProgressModels) {
+        if (questUserProgressModels == null || questUserProgressModels.isEmpty() || questUserProgressModels.get(0).getQuest() == null) {
+            this.states.remove(uuid);
+            return;
+        }
+
+        this.states.put(uuid, new ActiveQuestState(uuid, this.questService.definitionOf(questUserProgressModels.get(0).getQuest()), questUserProgressModels));
+    }
+
+    /**
+     * Removes the state of the player.
+     *
+     * @param uuid The uuid of the player.
+     */
+    public void remove(@NotNull UUID uuid) {
+        this.states.remove(uuid);
+    }
+
+    /**
+     * Removes the state of the player, if it is still the given state. A state, that replaced it in the meantime, for example of a newly accepted quest, is kept.
+     *
+     * @param uuid  The uuid of the player.
+     * @param state The state to remove.
+     */
+    public void remove(@NotNull UUID uuid, @NotNull ActiveQuestState state) {
+        this.states.remove(uuid, state);
+    }
+}
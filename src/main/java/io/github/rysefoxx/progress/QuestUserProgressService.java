@@ -1,5 +1,6 @@
 package io.github.rysefoxx.progress;
 
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
 import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import io.github.rysefoxx.PlayLegendQuest;
@@ -7,17 +8,27 @@ import io.github.rysefoxx.database.ConnectionService;
 import io.github.rysefoxx.database.IDatabaseOperation;
 import io.github.rysefoxx.enums.ResultType;
 import io.github.rysefoxx.quest.QuestModel;
-import io.github.rysefoxx.user.QuestUserModel;
-import io.github.rysefoxx.util.LogUtils;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
@@ -28,17 +39,162 @@ import java.util.logging.Level;
  */
 public class QuestUserProgressService implements IDatabaseOperation<QuestUserProgressModel, UUID> {
 
+    private static final String UPDATE_PROGRESS = "UPDATE quest_user_progress SET progress = ?, completed = ? WHERE id = ?";
+
     private final SessionFactory sessionFactory;
+    private final Executor databaseExecutor;
+    @Getter
     private final AsyncLoadingCache<UUID, List<QuestUserProgressModel>> cache;
+    /**
+     * Progress rows that have been changed but not written yet. Keyed by the row id, so repeated changes of the same row are written once.
+     */
+    private final Map<Long, DirtyProgress> dirtyProgress = new ConcurrentHashMap<>();
+    private final boolean writeBehind;
+    private final int batchSize;
 
     /**
-     * Creates a new service instance and initializes the cache. The cache will expire after 15 minutes of inactivity.
+     * Creates a new service instance and initializes the cache. The progress of a player stays cached while he is online, see {@link io.github.rysefoxx.database.PlayerCachePolicy}. If write-behind is enabled in the database.yml, an asynchronous scheduler flushes the changed progress periodically.
+     *
+     * @param plugin The plugin instance.
      */
-    public QuestUserProgressService() {
+    public QuestUserProgressService(@NotNull PlayLegendQuest plugin) {
         this.sessionFactory = ConnectionService.getSessionFactory();
-        this.cache = Caffeine.newBuilder()
-                .expireAfterAccess(15, TimeUnit.MINUTES)
-                .buildAsync(this::getQuestUserProgressModels);
+        this.databaseExecutor = ConnectionService.getExecutor();
+        this.cache = ConnectionService.getPlayerCachePolicy().register(Caffeine.newBuilder()
+                .executor(this.databaseExecutor)
+                .maximumSize(ConnectionService.getPlayerCachePolicy().getMaximumSize())
+                .expireAfter(ConnectionService.getPlayerCachePolicy().expiry())
+                .buildAsync(AsyncCacheLoader.<UUID, List<QuestUserProgressModel>>bulk(this::getQuestUserProgressModels)));
+
+        YamlConfiguration config = plugin.getConnectionService().getConfig();
+        this.writeBehind = config.getBoolean("write-behind.enabled", true);
+        this.batchSize = Math.max(1, config.getInt("write-behind.batch-size", 100));
+        flushScheduler(plugin, Math.max(1, config.getLong("write-behind.flush-interval", 5)));
+    }
+
+    /**
+     * Starts the asynchronous scheduler, which hands the changed progress to the database executor.
+     *
+     * @param plugin        The plugin instance.
+     * @param flushInterval The interval in seconds.
+     */
+    private void flushScheduler(@NotNull PlayLegendQuest plugin, long flushInterval) {
+        if (!this.writeBehind || PlayLegendQuest.isUnitTest()) return;
+
+        Bukkit.getAsyncScheduler().runAtFixedRate(plugin, scheduledTask -> flushAll(), flushInterval, flushInterval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Marks the progress as changed. With write-behind, the current values are copied and written with the next flush. Repeated changes of the same progress are written once. Without write-behind, the progress is saved immediately.
+     *
+     * @param questUserProgressModel The changed progress.
+     */
+    public void markDirty(@NotNull QuestUserProgressModel questUserProgressModel) {
+        if (!this.writeBehind) {
+            save(questUserProgressModel).thenAccept(resultType -> {
+                if (resultType == ResultType.SUCCESS) return;
+                PlayLegendQuest.getLog().severe("Failed to save QuestUserProgressModel for UUID: " + questUserProgressModel.getUuid() + " | " + resultType);
+            });
+            return;
+        }
+
+        this.dirtyProgress.put(questUserProgressModel.getId(), DirtyProgress.of(questUserProgressModel));
+    }
+
+    /**
+     * Writes the changed progress of the player to the database.
+     *
+     * @param uuid The uuid of the player.
+     * @return The result of the operation.
+     */
+    public @NotNull CompletableFuture<@NotNull ResultType> flush(@NotNull UUID uuid) {
+        return CompletableFuture.supplyAsync(() -> writeDirtyProgress(uuid), this.databaseExecutor);
+    }
+
+    /**
+     * Writes all changed progress to the database.
+     *
+     * @return The result of the operation.
+     */
+    public @NotNull CompletableFuture<@NotNull ResultType> flushAll() {
+        return CompletableFuture.supplyAsync(() -> writeDirtyProgress(null), this.databaseExecutor);
+    }
+
+    /**
+     * Writes the changed progress as JDBC batch updates in one transaction. If the transaction fails, the progress stays marked as changed and is written with the next flush.
+     *
+     * @param uuid The uuid of the player to write the progress for or null to write the progress of all players.
+     * @return The result of the operation.
+     */
+    private @NotNull ResultType writeDirtyProgress(@Nullable UUID uuid) {
+        List<DirtyProgress> dirtyProgresses = new ArrayList<>();
+        for (Long id : this.dirtyProgress.keySet()) {
+            DirtyProgress dirty = this.dirtyProgress.get(id);
+            if (dirty == null || (uuid != null && !uuid.equals(dirty.uuid()))) continue;
+            if (this.dirtyProgress.remove(id, dirty)) dirtyProgresses.add(dirty);
+        }
+
+        if (dirtyProgresses.isEmpty()) return ResultType.NO_ROWS_AFFECTED;
+
+        Transaction transaction = null;
+        try (Session session = sessionFactory.openSession()) {
+            transaction = session.beginTransaction();
+            session.doWork(connection -> writeDirty(connection, dirtyProgresses));
+            transaction.commit();
+            return ResultType.SUCCESS;
+        } catch (Exception e) {
+            if (transaction != null) transaction.rollback();
+            // A newer change of the same row, that was marked in the meantime, is kept.
+            dirtyProgresses.forEach(dirty -> this.dirtyProgress.putIfAbsent(dirty.id(), dirty));
+            PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to flush QuestUserProgressModels: " + e.getMessage(), e);
+            return ResultType.ERROR;
+        }
+    }
+
+    /**
+     * Writes the given progress as JDBC batch updates on the given connection. The caller is responsible for the transaction.
+     *
+     * @param connection              The connection to use.
+     * @param questUserProgressModels The progress to write.
+     * @throws SQLException If the update fails.
+     */
+    public void writeProgress(@NotNull Connection connection, @NotNull List<QuestUserProgressModel> questUserProgressModels) throws SQLException {
+        List<DirtyProgress> dirtyProgresses = new ArrayList<>(questUserProgressModels.size());
+        for (QuestUserProgressModel questUserProgressModel : questUserProgressModels) {
+            dirtyProgresses.add(DirtyProgress.of(questUserProgressModel));
+        }
+        writeDirty(connection, dirtyProgresses);
+    }
+
+    /**
+     * Writes the copied progress as JDBC batch updates on the given connection.
+     *
+     * @param connection      The connection to use.
+     * @param dirtyProgresses The progress to write.
+     * @throws SQLException If the update fails.
+     */
+    private void writeDirty(@NotNull Connection connection, @NotNull List<DirtyProgress> dirtyProgresses) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(UPDATE_PROGRESS)) {
+            int batched = 0;
+            for (DirtyProgress dirty : dirtyProgresses) {
+                statement.setInt(1, dirty.progress());
+                statement.setBoolean(2, dirty.completed());
+                statement.setLong(3, dirty.id());
+                statement.addBatch();
+
+                if (++batched % this.batchSize == 0) statement.executeBatch();
+            }
+            if (batched % this.batchSize != 0) statement.executeBatch();
+        }
+    }
+
+    /**
+     * Discards the changed progress of the player, because it is written or deleted by another operation.
+     *
+     * @param uuid The uuid of the player.
+     */
+    public void discardDirty(@NotNull UUID uuid) {
+        this.dirtyProgress.values().removeIf(dirty -> dirty.uuid().equals(uuid));
     }
 
     /**
@@ -59,13 +215,45 @@ public class QuestUserProgressService implements IDatabaseOperation<QuestUserPro
                     session.merge(toSave);
                 }
                 transaction.commit();
+                writeThroughProgress(toSave);
                 return ResultType.SUCCESS;
             } catch (Exception e) {
                 if (transaction != null) transaction.rollback();
                 PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to save QuestUserProgressModel: " + e.getMessage(), e);
                 return ResultType.ERROR;
             }
-        }).thenCompose(result -> result == ResultType.SUCCESS ? refreshCache(toSave.getUuid()) : CompletableFuture.completedFuture(result));
+        }, this.databaseExecutor);
+    }
+
+    /**
+     * Updates the cached open progress of the player with the saved progress. Completed progress is removed, because only open progress is cached. If the progress of the player is not cached, nothing has to be updated.
+     *
+     * @param toSave The saved progress.
+     */
+    private void writeThroughProgress(@NotNull QuestUserProgressModel toSave) {
+        CompletableFuture<List<QuestUserProgressModel>> cached = this.cache.getIfPresent(toSave.getUuid());
+        if (cached == null) return;
+
+        List<QuestUserProgressModel> cachedProgress = cached.isDone() && !cached.isCompletedExceptionally() ? cached.join() : null;
+        if (cachedProgress == null) {
+            this.cache.synchronous().invalidate(toSave.getUuid());
+            return;
+        }
+
+        List<QuestUserProgressModel> questUserProgressModels = new ArrayList<>(cachedProgress);
+        int index = -1;
+        for (int i = 0; i < questUserProgressModels.size(); i++) {
+            if (toSave.getId().equals(questUserProgressModels.get(i).getId())) index = i;
+        }
+
+        if (toSave.isCompleted()) {
+            if (index != -1) questUserProgressModels.remove(index);
+        } else if (index != -1) {
+            questUserProgressModels.set(index, toSave);
+        } else {
+            questUserProgressModels.add(toSave);
+        }
+        writeThrough(this.cache, toSave.getUuid(), questUserProgressModels);
     }
 
     /**
@@ -87,7 +275,6 @@ public class QuestUserProgressService implements IDatabaseOperation<QuestUserPro
                 if (questUserProgressModels.isEmpty()) return ResultType.NO_ROWS_AFFECTED;
 
                 for (QuestUserProgressModel questUserProgressModel : questUserProgressModels) {
-                    questUserProgressModel.getQuest().getUserProgress().remove(questUserProgressModel);
                     session.remove(questUserProgressModel);
                 }
                 transaction.commit();
@@ -98,108 +285,29 @@ public class QuestUserProgressService implements IDatabaseOperation<QuestUserPro
                 PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to delete QuestUserProgressModel: " + e.getMessage(), e);
                 return ResultType.ERROR;
             }
-        });
-    }
-
-    /**
-     * Deletes the quest from the user progress.
-     *
-     * @param uuid      The uuid of the user.
-     * @param questName The name of the quest.
-     * @return The result of the operation.
-     */
-    public @NotNull CompletableFuture<@NotNull ResultType> deleteQuest(@NotNull UUID uuid, @NotNull String questName) {
-        return CompletableFuture.supplyAsync(() -> {
-            Transaction transaction = null;
-            try (Session session = sessionFactory.openSession()) {
-                transaction = session.beginTransaction();
-
-                List<QuestUserProgressModel> questUserProgressModels = session.createQuery("FROM QuestUserProgressModel WHERE uuid = :uuid AND quest.name = :questName", QuestUserProgressModel.class)
-                        .setParameter("uuid", uuid)
-                        .setParameter("questName", questName)
-                        .list();
-                if (questUserProgressModels.isEmpty()) return ResultType.NO_ROWS_AFFECTED;
-
-                QuestModel questModel = questUserProgressModels.get(0).getQuest();
-                deleteUserProgress(questUserProgressModels, questModel, session);
-                deleteUserModel(session, uuid, questName, questModel);
-
-                transaction.commit();
-                return ResultType.SUCCESS;
-            } catch (Exception e) {
-                if (transaction != null) transaction.rollback();
-                PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to delete QuestUserModel: " + e.getMessage(), e);
-                return ResultType.ERROR;
-            }
-        }).thenCompose(result -> result == ResultType.SUCCESS ? refreshCache(uuid) : CompletableFuture.completedFuture(result));
-    }
-
-    /**
-     * Deletes the user progress from the database.
-     *
-     * @param questUserProgressModels The user progress models to delete.
-     * @param questModel              The quest model.
-     * @param session                 The session to use.
-     */
-    private void deleteUserProgress(@NotNull List<QuestUserProgressModel> questUserProgressModels, @NotNull QuestModel questModel, @NotNull Session session) {
-        questModel.getUserProgress().removeAll(questUserProgressModels);
-        for (QuestUserProgressModel questUserProgressModel : questUserProgressModels) {
-            questUserProgressModel.setQuest(null);
-            session.remove(questUserProgressModel);
-        }
-    }
-
-    /**
-     * Deletes the user model from the database.
-     *
-     * @param session    The session to use.
-     * @param uuid       The uuid of the user.
-     * @param questName  The name of the quest.
-     * @param questModel The quest model.
-     */
-    private void deleteUserModel(@NotNull Session session, @NotNull UUID uuid, @NotNull String questName, @NotNull QuestModel questModel) {
-        QuestUserModel questUserModel = session.createQuery("FROM QuestUserModel WHERE uuid = :uuid AND quest.name = :questName", QuestUserModel.class)
-                .setParameter("uuid", uuid)
-                .setParameter("questName", questName)
-                .uniqueResult();
-        if (questUserModel != null) {
-            questModel.removeUserQuest(questUserModel);
-            session.remove(questUserModel);
-        }
-    }
-
-    /**
-     * Refreshes the cache for the given identifier.
-     *
-     * @param uuid The identifier to refresh the cache for.
-     * @return The result of the operation.
-     */
-    private @NotNull CompletableFuture<@NotNull ResultType> refreshCache(UUID uuid) {
-        return this.cache.synchronous().refresh(uuid)
-                .thenApply(v -> ResultType.SUCCESS)
-                .exceptionally(throwable -> {
-                    LogUtils.handleError(null, "Failed to refresh QuestUserProgressModel cache", throwable);
-                    return ResultType.ERROR;
-                });
+        }, this.databaseExecutor);
     }
 
-
     /**
-     * Gets the user progress models from the database.
+     * Gets the open user progress models of the given users from the database with one query.
      *
-     * @param uuid     The uuid of the user.
+     * @param uuids    The uuids of the users.
      * @param executor The executor to run the task on.
-     * @return The user progress models.
+     * @return The user progress models by the uuid of their user. Users without open progress get an empty list. Completes exceptionally if the query failed, so nothing is cached.
      */
-    private @NotNull CompletableFuture<@Nullable List<QuestUserProgressModel>> getQuestUserProgressModels(@NotNull UUID uuid, @NotNull Executor executor) {
+    private @NotNull CompletableFuture<@NotNull Map<UUID, List<QuestUserProgressModel>>> getQuestUserProgressModels(@NotNull Set<? extends UUID> uuids, @NotNull Executor executor) {
         return CompletableFuture.supplyAsync(() -> {
             try (Session session = sessionFactory.openSession()) {
-                return session.createQuery("FROM QuestUserProgressModel WHERE uuid = :uuid AND completed = false", QuestUserProgressModel.class)
-                        .setParameter("uuid", uuid)
-                        .list();
+                Map<UUID, List<QuestUserProgressModel>> questUserProgressModels = new HashMap<>();
+                uuids.forEach(uuid -> questUserProgressModels.put(uuid, new ArrayList<>()));
+
+                session.createQuery("FROM QuestUserProgressModel WHERE uuid IN :uuids AND completed = false", QuestUserProgressModel.class)
+                        .setParameterList("uuids", uuids)
+                        .list()
+                        .forEach(questUserProgressModel -> questUserProgressModels.get(questUserProgressModel.getUuid()).add(questUserProgressModel));
+                return questUserProgressModels;
             } catch (Exception e) {
-                PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to get QuestUserProgressModels: " + e.getMessage(), e);
-                return null;
+                throw new IllegalStateException("Failed to get QuestUserProgressModels", e);
             }
         }, executor);
     }
@@ -214,6 +322,16 @@ public class QuestUserProgressService implements IDatabaseOperation<QuestUserPro
         return this.cache.get(uuid);
     }
 
+    /**
+     * Finds the user progress models of the given users from the cache. The models, that are not in the cache, are loaded from the database with one query.
+     *
+     * @param uuids The identifiers to find the models by.
+     * @return The user progress models by the uuid of their user.
+     */
+    public @NotNull CompletableFuture<@NotNull Map<UUID, List<QuestUserProgressModel>>> findAllByUuid(@NotNull Collection<UUID> uuids) {
+        return this.cache.getAll(uuids);
+    }
+
     /**
      * Checks if the user has a quest.
      *
@@ -225,27 +343,17 @@ public class QuestUserProgressService implements IDatabaseOperation<QuestUserPro
     }
 
     /**
-     * Checks if the quest is completed.
+     * The values of a changed progress row at the time it was marked. The flush only reads this copy, never the model, that is changed on the main thread.
      *
-     * @param uuid      The uuid of the user.
-     * @param questName The name of the quest.
-     * @return True if the quest is completed, otherwise false.
+     * @param id        The id of the progress row.
+     * @param uuid      The uuid of the player.
+     * @param progress  The progress.
+     * @param completed Whether the requirement is completed.
      */
-    public @NotNull CompletableFuture<@NotNull Boolean> isQuestCompleted(@NotNull UUID uuid, @NotNull String questName) {
-        return CompletableFuture.supplyAsync(() -> {
-            try (Session session = sessionFactory.openSession()) {
-                return !session.createQuery("FROM QuestUserProgressModel WHERE uuid = :uuid AND quest.name = :questName AND completed = true", QuestUserProgressModel.class)
-                        .setParameter("uuid", uuid)
-                        .setParameter("questName", questName)
-                        .list()
-                        .isEmpty();
-            } catch (Exception e) {
-                LogUtils.handleError(null, "Failed to check if quest is completed", e);
-                return false;
-            }
-        }).exceptionally(throwable -> {
-            LogUtils.handleError(null, "Failed to check if quest is completed", throwable);
-            return false;
-        });
+    private record DirtyProgress(long id, @NotNull UUID uuid, int progress, boolean completed) {
+
+        private static @NotNull DirtyProgress of(@NotNull QuestUserProgressModel questUserProgressModel) {
+            return new DirtyProgress(questUserProgressModel.getId(), questUserProgressModel.getUuid(), questUserProgressModel.getProgress(), questUserProgressModel.isCompleted());
+        }
     }
-}
+}
\ No newline at end of file
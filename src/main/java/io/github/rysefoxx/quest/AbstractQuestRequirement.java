@@ -1,11 +1,14 @@
 package io.github.rysefoxx.quest;
 
 import io.github.rysefoxx.PlayLegendQuest;
-import io.github.rysefoxx.enums.QuestRequirementType;
 import io.github.rysefoxx.enums.ResultType;
 import io.github.rysefoxx.language.LanguageService;
+import io.github.rysefoxx.notification.QuestNotificationService;
+import io.github.rysefoxx.progress.ActiveQuestState;
+import io.github.rysefoxx.progress.ActiveQuestStateStore;
 import io.github.rysefoxx.progress.QuestUserProgressModel;
 import io.github.rysefoxx.progress.QuestUserProgressService;
+import io.github.rysefoxx.quest.type.RequirementType;
 import io.github.rysefoxx.reward.QuestRewardService;
 import io.github.rysefoxx.scoreboard.ScoreboardService;
 import io.github.rysefoxx.user.QuestUserService;
@@ -14,26 +17,26 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
-import org.bukkit.event.Listener;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
 import javax.annotation.Nonnegative;
-import java.util.List;
-import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 
 
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @NoArgsConstructor
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "quest_requirement_type")
 @Table(name = "quest_requirement")
-public abstract class AbstractQuestRequirement implements Listener {
+public abstract class AbstractQuestRequirement {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -47,28 +50,28 @@ public abstract class AbstractQuestRequirement implements Listener {
     private QuestModel quest;
 
     @Column(name = "quest_requirement_type", nullable = false, insertable = false, updatable = false)
-    @Enumerated(EnumType.STRING)
-    private QuestRequirementType questRequirementType;
+    private String questRequirementType;
 
     private transient PlayLegendQuest plugin;
-    private transient QuestService questService;
     private transient QuestUserProgressService questUserProgressService;
     private transient QuestRewardService questRewardService;
     private transient LanguageService languageService;
     private transient ScoreboardService scoreboardService;
     private transient QuestUserService questUserService;
+    private transient ActiveQuestStateStore activeQuestStateStore;
+    private transient QuestNotificationService questNotificationService;
 
     /**
-     * Creates a new quest requirement instance. The requirement will be registered as a listener.
+     * Creates a new quest requirement instance. The requirement receives events as soon as it is saved and indexed by the {@link QuestRequirementDispatcher}.
      *
-     * @param plugin               The plugin instance.
-     * @param requiredAmount       The amount required to complete the requirement.
-     * @param questRequirementType The type of the requirement.
+     * @param plugin          The plugin instance.
+     * @param requiredAmount  The amount required to complete the requirement.
+     * @param requirementType The type of the requirement.
      */
-    public AbstractQuestRequirement(@NotNull PlayLegendQuest plugin, @Nonnegative int requiredAmount, @NotNull QuestRequirementType questRequirementType) {
+    public AbstractQuestRequirement(@NotNull PlayLegendQuest plugin, @Nonnegative int requiredAmount, @NotNull RequirementType<?, ?> requirementType) {
         this.plugin = plugin;
         this.requiredAmount = requiredAmount;
-        this.questRequirementType = questRequirementType;
+        this.questRequirementType = requirementType.getName();
         register();
     }
 
@@ -81,127 +84,95 @@ public abstract class AbstractQuestRequirement implements Listener {
     public abstract void sendInfo(@NotNull Player player, @NotNull LanguageService languageService);
 
     /**
-     * Gets the progress text for the player.
-     *
-     * @param questUserProgressModel The progress of the player.
-     * @return The progress text.
+     * @return The entity type or material the requirement is waiting for.
+     */
+    public abstract @NotNull String getTarget();
+
+    /**
+     * @return The type of the requirement. It decides which event progresses the requirement.
      */
-    public abstract @NotNull String getProgressText(@NotNull QuestUserProgressModel questUserProgressModel);
+    public abstract @NotNull RequirementType<?, ?> getRequirementType();
 
     /**
-     * Registers the requirement as a listener and initializes the required services.
+     * Initializes the required services.
      */
     public void register() {
-        Bukkit.getPluginManager().registerEvents(this, this.plugin);
         this.questUserProgressService = this.plugin.getQuestUserProgressService();
         this.languageService = this.plugin.getLanguageService();
         this.scoreboardService = this.plugin.getScoreboardService();
         this.questRewardService = this.plugin.getQuestRewardService();
         this.questUserService = this.plugin.getQuestUserService();
-        this.questService = this.plugin.getQuestService();
+        this.activeQuestStateStore = this.plugin.getActiveQuestStateStore();
+        this.questNotificationService = this.plugin.getQuestNotificationService();
     }
 
     /**
-     * Increases the progress of the player by the given amount. If the progress reaches the required amount, the requirement will be marked as completed and the player will be rewarded.
+     * Increases the progress of the player by the given amount in the {@link ActiveQuestState}. The changed progress is written by the next flush or together with the completion of the quest.
      *
      * @param player            The player to increase the progress for.
      * @param progressIncrement The amount to increase the progress by.
      */
     protected void updateProgress(@NotNull Player player, @Nonnegative int progressIncrement) {
-        getQuestUserProgressService().findByUuid(player.getUniqueId())
-                .thenCompose(questUserProgressModels -> handleQuestUserProgressModels(player, questUserProgressModels, progressIncrement))
-                .exceptionally(throwable -> LogUtils.handleError(player, "Error while finding user progress for " + player.getName(), throwable));
-    }
+        ActiveQuestState activeQuestState = getActiveQuestStateStore().get(player.getUniqueId());
+        if (activeQuestState == null) return;
 
-    /**
-     * Handles the quest user progress models and increases the progress of the requirement.
-     *
-     * @param player                  The player to increase the progress for.
-     * @param questUserProgressModels The progress of the player.
-     * @param progressIncrement       The amount to increase the progress by.
-     * @return A future that completes when the progress has been updated.
-     */
-    private @NotNull CompletableFuture<@Nullable Void> handleQuestUserProgressModels(@NotNull Player player, @Nullable List<QuestUserProgressModel> questUserProgressModels, @Nonnegative int progressIncrement) {
-        if (questUserProgressModels == null || questUserProgressModels.isEmpty()) {
-            return CompletableFuture.completedFuture(null);
-        }
+        int slot = activeQuestState.slotOf(getId());
+        if (slot == -1 || activeQuestState.isCompleted(slot)) return;
 
-        QuestModel questModel = questUserProgressModels.get(0).getQuest();
-        if (!questModel.hasRequirement(getId())) {
-            return CompletableFuture.completedFuture(null);
-        }
+        int progress = activeQuestState.increment(slot, progressIncrement);
+        boolean requirementCompleted = activeQuestState.isCompleted(slot);
+        boolean questCompleted = activeQuestState.isQuestCompleted();
 
-        QuestUserProgressModel questUserProgressModel = questUserProgressModels.stream()
-                .filter(model -> model.getRequirement().getId().equals(getId()))
-                .findFirst()
-                .orElse(null);
+        getQuestNotificationService().sendProgress(player, "quest_progress", progress, getRequiredAmount());
 
-        if (questUserProgressModel == null || questUserProgressModel.isCompleted()) {
-            return CompletableFuture.completedFuture(null);
-        }
+        QuestUserProgressModel questUserProgressModel = activeQuestState.getProgressModel(slot);
+        questUserProgressModel.setProgress(progress);
+        questUserProgressModel.setCompleted(requirementCompleted);
 
-        questUserProgressModel.setProgress(Math.min(questUserProgressModel.getProgress() + progressIncrement, getRequiredAmount()));
-        if (questUserProgressModel.isDone()) {
-            questUserProgressModel.setCompleted(true);
+        if (requirementCompleted) {
+            getQuestNotificationService().sendMilestone(player, "quest_requirement_done");
+            getScoreboardService().update(player);
         }
 
-        getLanguageService().sendTranslatedMessage(player, "quest_progress", String.valueOf(questUserProgressModel.getProgress()), String.valueOf(getRequiredAmount()));
+        if (!questCompleted) {
+            getQuestUserProgressService().markDirty(questUserProgressModel);
+            return;
+        }
 
-        return getQuestUserProgressService().save(questUserProgressModel)
-                .thenCompose(resultType -> handleSaveResult(player, resultType, questUserProgressModel, questModel, questUserProgressModels));
+        QuestDefinition questDefinition = activeQuestState.getQuest();
+        getQuestUserService().completeQuest(player.getUniqueId(), questDefinition, activeQuestState.getProgressModels())
+                .thenAccept(resultType -> handleCompleteResult(player, activeQuestState, resultType))
+                .exceptionally(throwable -> LogUtils.handleError(player, "Error while completing quest for " + player.getName(), throwable));
     }
 
     /**
-     * Handles the result of saving the quest progress.
+     * Handles the result of completing the quest. The state is kept if the completion failed, a quest that is no longer active is not rewarded.
      *
-     * @param player                  The player to handle the result for.
-     * @param resultType              The result of saving the quest progress.
-     * @param questUserProgressModel  The quest user progress model.
-     * @param questModel              The quest model.
-     * @param questUserProgressModels The quest user progress models.
-     * @return A future that completes when the result has been handled.
+     * @param player           The player to handle the result for.
+     * @param activeQuestState The state of the completed quest.
+     * @param resultType       The result of completing the quest.
      */
-    private @NotNull CompletableFuture<@Nullable Void> handleSaveResult(@NotNull Player player, @NotNull ResultType resultType, @NotNull QuestUserProgressModel questUserProgressModel, @NotNull QuestModel questModel, @NotNull List<QuestUserProgressModel> questUserProgressModels) {
-        if (resultType != ResultType.SUCCESS) {
+    private void handleCompleteResult(@NotNull Player player, @NotNull ActiveQuestState activeQuestState, @NotNull ResultType resultType) {
+        if (resultType == ResultType.ERROR) {
             handleSaveError(player, "Error while saving quest progress.", resultType);
-            return CompletableFuture.completedFuture(null);
+            return;
         }
 
-        if (questUserProgressModel.getProgress() < getRequiredAmount()) {
-            return CompletableFuture.completedFuture(null);
-        }
-
-        getLanguageService().sendTranslatedMessage(player, "quest_requirement_done");
-        getScoreboardService().update(player);
-
-        if (!questModel.isCompleted(questUserProgressModels)) {
-            return CompletableFuture.completedFuture(null);
-        }
-
-        getLanguageService().sendTranslatedMessage(player, "quest_done");
-        getQuestRewardService().rewardPlayer(player, questModel);
-        questModel.getUserQuests().removeIf(questUserModel -> questUserModel.getUuid().equals(player.getUniqueId()));
-
-        return deleteUserModel(player, questModel);
-    }
-
-    /**
-     * Deletes the user model for the given player.
-     *
-     * @param player     The player to delete the user model for.
-     * @param questModel The quest model to delete the user model for.
-     * @return A future that completes when the user model has been deleted.
-     */
-    private @NotNull CompletableFuture<@Nullable Void> deleteUserModel(@NotNull Player player, @NotNull QuestModel questModel) {
-        return questUserService.deleteByUuid(player.getUniqueId())
-                .thenCompose(resultType -> {
-                    if (resultType != ResultType.SUCCESS) {
-                        handleSaveError(player, "Error while deleting quest progress.", resultType);
-                        return CompletableFuture.completedFuture(null);
-                    }
-
-                    return questService.getCache().synchronous().refresh(questModel.getName()).thenApply(refreshedQuestModel -> null);
-                });
+        Bukkit.getScheduler().runTask(getPlugin(), () -> {
+            getActiveQuestStateStore().remove(player.getUniqueId(), activeQuestState);
+            getQuestNotificationService().clear(player.getUniqueId());
+            if (resultType == ResultType.NO_ROWS_AFFECTED) return;
+
+            Player onlinePlayer = Bukkit.getPlayer(player.getUniqueId());
+            if (onlinePlayer == null) {
+                getQuestRewardService().queueRewards(player.getUniqueId(), activeQuestState.getQuest());
+                return;
+            }
+
+            getQuestNotificationService().sendMilestone(onlinePlayer, "quest_done");
+            getQuestRewardService().rewardPlayer(onlinePlayer, activeQuestState.getQuest());
+            getScoreboardService().update(onlinePlayer);
+        });
     }
 
     /**
@@ -0,0 +1,180 @@
+package io.github.rysefoxx.quest;
+
+import io.github.rysefoxx.PlayLegendQuest;
+import io.github.rysefoxx.enums.QuestRewardType;
+import io.github.rysefoxx.language.LanguageService;
+import io.github.rysefoxx.progress.QuestUserProgressModel;
+import io.github.rysefoxx.reward.QuestRewardDefinition;
+import io.github.rysefoxx.reward.QuestRewardModel;
+import io.github.rysefoxx.user.QuestUserModel;
+import io.github.rysefoxx.util.TimeUtils;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.Nonnegative;
+import java.util.*;
+
+/**
+ * Immutable snapshot of a {@link QuestModel}. The {@link QuestService} publishes a new snapshot whenever the quest is edited, so readers never see a quest that is being changed and need no locking.
+ * <br>
+ * The requirements and rewards are copied and indexed by their id. No entity is shared with the session that loaded the quest.
+ *
+ * @param name         The name of the quest.
+ * @param displayName  The display name of the quest.
+ * @param description  The description of the quest.
+ * @param duration     The duration of the quest in seconds.
+ * @param permission   The permission to start the quest.
+ * @param requirements The requirements of the quest by their id, in the order of the quest.
+ * @param rewards      The rewards of the quest by their id, in the order of the quest.
+ * @param coinReward   The sum of the coin rewards. Coins are granted in the same transaction that completes the quest.
+ * @author Rysefoxx
+ * @since 17.10.2026
+ */
+public record QuestDefinition(@NotNull String name,
+                              @NotNull String displayName,
+                              @Nullable String description,
+                              long duration,
+                              @Nullable String permission,
+                              @NotNull Map<Long, QuestRequirementDefinition> requirements,
+                              @NotNull Map<Long, QuestRewardDefinition> rewards,
+                              @Nonnegative long coinReward) {
+
+    /**
+     * Creates a snapshot of the given quest model.
+     *
+     * @param questModel The quest model to copy.
+     * @return The snapshot.
+     */
+    public static @NotNull QuestDefinition of(@NotNull QuestModel questModel) {
+        Map<Long, QuestRequirementDefinition> requirements = new LinkedHashMap<>();
+        for (AbstractQuestRequirement requirement : questModel.getRequirements()) {
+            requirements.put(requirement.getId(), QuestRequirementDefinition.of(requirement));
+        }
+
+        Map<Long, QuestRewardDefinition> rewards = new LinkedHashMap<>();
+        long coinReward = 0;
+        for (QuestRewardModel reward : questModel.getRewards()) {
+            rewards.put(reward.getId(), QuestRewardDefinition.of(reward));
+            if (reward.getQuestRewardType() == QuestRewardType.COINS) coinReward += parseCoins(questModel, reward);
+        }
+
+        return new QuestDefinition(questModel.getName(), questModel.getDisplayName(), questModel.getDescription(), questModel.getDuration(), questModel.getPermission(),
+                Collections.unmodifiableMap(requirements), Collections.unmodifiableMap(rewards), coinReward);
+    }
+
+    /**
+     * Parses the coins of the reward. An invalid reward is logged and grants no coins, so it can not fail the completion of the quest.
+     *
+     * @param questModel The quest of the reward.
+     * @param reward     The coin reward.
+     * @return The coins of the reward or 0 if the reward is invalid.
+     */
+    private static @Nonnegative long parseCoins(@NotNull QuestModel questModel, @NotNull QuestRewardModel reward) {
+        try {
+            long coins = Long.parseLong(reward.getReward());
+            if (coins >= 0) return coins;
+        } catch (NumberFormatException ignored) {
+        }
+
+        PlayLegendQuest.getLog().warning("Ignoring invalid coin reward " + reward.getId() + " of quest " + questModel.getName() + ": " + reward.getReward());
+        return 0;
+    }
+
+    /**
+     * Checks if the quest has the given requirement.
+     *
+     * @param requirementId The identifier of the requirement.
+     * @return True if the quest has the requirement, otherwise false.
+     */
+    public boolean hasRequirement(@Nonnegative long requirementId) {
+        return this.requirements.containsKey(requirementId);
+    }
+
+    /**
+     * Checks if the quest has the given reward.
+     *
+     * @param rewardId The identifier of the reward.
+     * @return True if the quest has the reward, otherwise false.
+     */
+    public boolean hasReward(@Nonnegative long rewardId) {
+        return this.rewards.containsKey(rewardId);
+    }
+
+    /**
+     * Checks if the quest is configured and ready to be used.
+     *
+     * @return True if the quest is configured, otherwise false.
+     */
+    public boolean isConfigured() {
+        return !this.requirements.isEmpty() && this.duration > 0;
+    }
+
+    /**
+     * Checks if the quest has a permission. If the quest has a permission, the player must have the permission to start the quest.
+     *
+     * @return True if the quest has a permission, otherwise false.
+     */
+    public boolean hasPermission() {
+        return this.permission != null;
+    }
+
+    /**
+     * Sends the quest information to the player and displays his progress.
+     *
+     * @param player                  The player to send the information to.
+     * @param languageService         The language service to use for translations.
+     * @param questUserProgressModels The progress of the player.
+     * @param questUserModel          The active quest of the player or null if it is not known.
+     */
+    public void sendProgressToUser(@NotNull Player player, @NotNull LanguageService languageService, @NotNull List<QuestUserProgressModel> questUserProgressModels, @Nullable QuestUserModel questUserModel) {
+        int completedRequirements = getCompletedRequirementsCount(questUserProgressModels);
+        String requirementTranslation = languageService.getTranslatedMessage(player, "quest_info_requirement");
+
+        languageService.sendTranslatedMessage(player, "quest_info");
+        languageService.sendTranslatedMessage(player, "quest_info_description",
+                this.description != null ? this.description : languageService.getTranslatedMessage(player, "quest_info_no_description"));
+        languageService.sendTranslatedMessage(player, "quest_info_displayname", this.displayName);
+        languageService.sendTranslatedMessage(player, "quest_info_duration", questUserModel == null ? "Unknown" : TimeUtils.toReadableString(questUserModel.getExpiration()));
+        languageService.sendTranslatedMessage(player, "quest_info_requirements", String.valueOf(completedRequirements), String.valueOf(this.requirements.size()));
+
+        for (String progressDetail : getProgressDetails(requirementTranslation, questUserProgressModels)) {
+            languageService.sendTranslatedMessage(player, "quest_info_progress_details", progressDetail);
+        }
+    }
+
+    /**
+     * Gets the number of completed requirements. Progress that is completed, but still cached, is counted as completed as well.
+     *
+     * @param questUserProgressModels The progress of the player.
+     * @return The number of completed requirements.
+     */
+    public @Nonnegative int getCompletedRequirementsCount(@NotNull List<QuestUserProgressModel> questUserProgressModels) {
+        int openRequirements = 0;
+        for (QuestUserProgressModel questUserProgressModel : questUserProgressModels) {
+            if (!questUserProgressModel.isCompleted()) openRequirements++;
+        }
+        return this.requirements.size() - openRequirements;
+    }
+
+    /**
+     * Gets the progress details for the player.
+     *
+     * @param requirementTranslation  The translation for the requirement.
+     * @param questUserProgressModels The progress of the player.
+     * @return The progress details.
+     */
+    private @NotNull List<String> getProgressDetails(@NotNull String requirementTranslation, @NotNull List<QuestUserProgressModel> questUserProgressModels) {
+        List<String> progressDetails = new ArrayList<>();
+
+        for (int i = 0; i < questUserProgressModels.size(); i++) {
+            QuestUserProgressModel questUserProgressModel = questUserProgressModels.get(i);
+            QuestRequirementDefinition requirement = this.requirements.get(questUserProgressModel.getRequirement().getId());
+
+            if (requirement == null) continue;
+            progressDetails.add(requirementTranslation + " " + (i + 1) + ": " + requirement.getProgressText(questUserProgressModel.getProgress()));
+        }
+
+        return progressDetails;
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.rysefoxx.quest;
+
+import io.github.rysefoxx.quest.type.RequirementType;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nonnegative;
+
+/**
+ * Immutable copy of an {@link AbstractQuestRequirement}, taken when the {@link QuestDefinition} is published.
+ *
+ * @param id             The id of the requirement.
+ * @param type           The type of the requirement.
+ * @param key            The key the requirement is waiting for or -1 if it has none.
+ * @param requiredAmount The amount required to complete the requirement.
+ * @param target         The entity type or material the requirement is waiting for.
+ * @author Rysefoxx
+ * @since 17.10.2026
+ */
+public record QuestRequirementDefinition(long id,
+                                         @NotNull RequirementType<?, ?> type,
+                                         int key,
+                                         @Nonnegative int requiredAmount,
+                                         @NotNull String target) {
+
+    /**
+     * Copies the given requirement.
+     *
+     * @param requirement The requirement to copy.
+     * @return The copy.
+     */
+    public static @NotNull QuestRequirementDefinition of(@NotNull AbstractQuestRequirement requirement) {
+        RequirementType<?, ?> type = requirement.getRequirementType();
+        return new QuestRequirementDefinition(requirement.getId(), type, type.keyOf(requirement), requirement.getRequiredAmount(), requirement.getTarget());
+    }
+
+    /**
+     * Gets the progress text for the player.
+     *
+     * @param progress The progress of the player.
+     * @return The progress text.
+     */
+    public @NotNull String getProgressText(@Nonnegative int progress) {
+        return progress + "/" + this.requiredAmount + " (" + this.type + " " + this.requiredAmount + " " + this.target + ")";
+    }
+}
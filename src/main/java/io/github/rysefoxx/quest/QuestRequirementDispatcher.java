@@ -0,0 +1,282 @@
+package io.github.rysefoxx.quest;
+
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import io.github.rysefoxx.PlayLegendQuest;
+import io.github.rysefoxx.progress.ActiveQuestState;
+import io.github.rysefoxx.progress.ActiveQuestStateStore;
+import io.github.rysefoxx.quest.type.RequirementType;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Single entry point for the events of all {@link AbstractQuestRequirement}s. The requirements are grouped by their {@link RequirementType} and indexed by the key they are waiting for, so an event only reaches the requirements that can match it.
+ * <br>
+ * The listener of a type is registered when its first requirement is indexed. Types without requirements cost nothing per event.
+ * <br>
+ * The index of a type is replaced as a whole on every change (copy-on-write). Changes are rare, while the events are read on the main thread very often.
+ * <br>
+ * Before an event reaches the index, it is checked against the interests of the player's {@link ActiveQuestState}. Players without an active quest or without a matching requirement are rejected right away.
+ * <br>
+ * The progress of coalescing types, like item pickups, is collected per player and requirement during a tick and applied as one progress delta when the tick ends ({@link ServerTickEndEvent}). A player walking over a pile of drops therefore causes one progress update instead of one per item entity.
+ *
+ * @author Rysefoxx
+ * @since 17.10.2026
+ */
+public class QuestRequirementDispatcher implements Listener {
+
+    private final PlayLegendQuest plugin;
+    private final ActiveQuestStateStore activeQuestStateStore;
+    private final Map<RequirementType<?, ?>, TypeIndex<?, ?>> indexes = new HashMap<>();
+    /**
+     * The coalesced progress of the current tick. Only accessed on the main thread.
+     */
+    private final Map<UUID, Map<AbstractQuestRequirement, Integer>> pendingProgress = new HashMap<>();
+
+    /**
+     * Creates a new dispatcher instance.
+     *
+     * @param plugin The plugin instance, used to register the listeners.
+     */
+    public QuestRequirementDispatcher(@NotNull PlayLegendQuest plugin) {
+        this.plugin = plugin;
+        this.activeQuestStateStore = plugin.getActiveQuestStateStore();
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+    }
+
+    /**
+     * Adds the requirement to the index.
+     *
+     * @param requirement The requirement to add.
+     */
+    public void register(@NotNull AbstractQuestRequirement requirement) {
+        registerAll(List.of(requirement));
+    }
+
+    /**
+     * Adds all requirements to the index. The index of every type is only copied once, no matter how many requirements are added.
+     *
+     * @param requirements The requirements to add.
+     */
+    public synchronized void registerAll(@NotNull Collection<? extends AbstractQuestRequirement> requirements) {
+        Map<RequirementType<?, ?>, List<AbstractQuestRequirement>> byType = new HashMap<>();
+        for (AbstractQuestRequirement requirement : requirements) {
+            byType.computeIfAbsent(requirement.getRequirementType(), type -> new ArrayList<>()).add(requirement);
+        }
+
+        byType.forEach((type, typeRequirements) -> indexOf(type).addAll(typeRequirements));
+    }
+
+    /**
+     * Removes the requirement from the index.
+     *
+     * @param requirement The requirement to remove.
+     */
+    public synchronized void unregister(@NotNull AbstractQuestRequirement requirement) {
+        TypeIndex<?, ?> index = this.indexes.get(requirement.getRequirementType());
+        if (index == null) return;
+
+        index.remove(requirement);
+    }
+
+    /**
+     * Gets the index of the type. If the type has no index yet, the index is created and its listener is registered.
+     *
+     * @param type The type to get the index for.
+     * @param <E>  The event of the type.
+     * @param <R>  The requirement class of the type.
+     * @return The index of the type.
+     */
+    @SuppressWarnings("unchecked")
+    private <E extends Event, R extends AbstractQuestRequirement> @NotNull TypeIndex<E, R> indexOf(@NotNull RequirementType<E, R> type) {
+        TypeIndex<E, R> index = (TypeIndex<E, R>) this.indexes.get(type);
+        if (index != null) return index;
+
+        TypeIndex<E, R> created = new TypeIndex<>(type);
+        this.indexes.put(type, created);
+        Bukkit.getPluginManager().registerEvent(type.getEventClass(), created, EventPriority.NORMAL, created, this.plugin, type.isIgnoreCancelled());
+        return created;
+    }
+
+    /**
+     * Collects the progress of a coalescing type until the end of the tick.
+     *
+     * @param player      The player that made progress.
+     * @param requirement The requirement that made progress.
+     * @param amount      The amount of progress.
+     */
+    private void queueProgress(@NotNull Player player, @NotNull AbstractQuestRequirement requirement, int amount) {
+        this.pendingProgress.computeIfAbsent(player.getUniqueId(), uuid -> new LinkedHashMap<>())
+                .merge(requirement, amount, Integer::sum);
+    }
+
+    /**
+     * Applies the coalesced progress at the end of the tick, in which it was collected.
+     *
+     * @param event The event.
+     */
+    @EventHandler
+    private void onTickEnd(@NotNull ServerTickEndEvent event) {
+        if (this.pendingProgress.isEmpty()) return;
+        flushProgress();
+    }
+
+    /**
+     * Applies the coalesced progress of the current tick. Every requirement receives one progress update per player.
+     */
+    private void flushProgress() {
+        Map<UUID, Map<AbstractQuestRequirement, Integer>> progress = new HashMap<>(this.pendingProgress);
+        this.pendingProgress.clear();
+
+        for (Map.Entry<UUID, Map<AbstractQuestRequirement, Integer>> entry : progress.entrySet()) {
+            Player player = Bukkit.getPlayer(entry.getKey());
+            if (player == null) continue;
+
+            entry.getValue().forEach((requirement, amount) -> requirement.updateProgress(player, amount));
+        }
+    }
+
+    /**
+     * The requirements of one {@link RequirementType}, indexed by the key they are waiting for. It is registered as listener and executor for the event of the type.
+     *
+     * @param <E> The event of the type.
+     * @param <R> The requirement class of the type.
+     */
+    private final class TypeIndex<E extends Event, R extends AbstractQuestRequirement> implements Listener, EventExecutor {
+
+        private final RequirementType<E, R> type;
+        private volatile List<R>[] requirementsByKey = newIndex(0);
+
+        private TypeIndex(@NotNull RequirementType<E, R> type) {
+            this.type = type;
+        }
+
+        @Override
+        public void execute(@NotNull Listener listener, @NotNull Event event) {
+            // The executor is also called for subclasses of the event.
+            if (!this.type.getEventClass().isInstance(event)) return;
+            dispatch(this.type.getEventClass().cast(event));
+        }
+
+        /**
+         * Passes the event to all requirements that are waiting for its key.
+         *
+         * @param event The event to dispatch.
+         */
+        private void dispatch(@NotNull E event) {
+            Player player = this.type.getPlayer().apply(event);
+            if (player == null) return;
+
+            int key = this.type.getEventKey().applyAsInt(event);
+            if (key < 0) return;
+
+            ActiveQuestState activeQuestState = activeQuestStateStore.get(player.getUniqueId());
+            if (activeQuestState == null || !activeQuestState.isInterestedIn(this.type, key)) return;
+
+            List<R>[] index = this.requirementsByKey;
+            if (key >= index.length || index[key] == null) return;
+
+            int amount = this.type.getAmount().applyAsInt(event);
+            for (R requirement : index[key]) {
+                if (!this.type.getMatcher().test(event, requirement)) continue;
+
+                if (this.type.isCoalesce()) {
+                    queueProgress(player, requirement, amount);
+                } else {
+                    requirement.updateProgress(player, amount);
+                }
+            }
+        }
+
+        /**
+         * Adds the requirements to the index. Requirements with an id that is already indexed are skipped, otherwise the progress would be counted twice.
+         *
+         * @param requirements The requirements of this type.
+         */
+        private void addAll(@NotNull List<AbstractQuestRequirement> requirements) {
+            List<R>[] current = this.requirementsByKey;
+            int length = current.length;
+            for (AbstractQuestRequirement requirement : requirements) {
+                length = Math.max(length, this.type.keyOf(requirement) + 1);
+            }
+
+            List<R>[] copy = newIndex(length);
+            for (int key = 0; key < current.length; key++) {
+                if (current[key] != null) copy[key] = new ArrayList<>(current[key]);
+            }
+
+            for (AbstractQuestRequirement requirement : requirements) {
+                int key = this.type.keyOf(requirement);
+                if (key < 0) continue;
+
+                if (copy[key] == null) copy[key] = new ArrayList<>();
+                addIfAbsent(copy[key], this.type.getRequirementClass().cast(requirement));
+            }
+
+            this.requirementsByKey = freeze(copy);
+        }
+
+        /**
+         * Removes the requirement from the index.
+         *
+         * @param requirement The requirement to remove.
+         */
+        private void remove(@NotNull AbstractQuestRequirement requirement) {
+            int key = this.type.keyOf(requirement);
+            List<R>[] current = this.requirementsByKey;
+            if (key < 0 || key >= current.length || current[key] == null) return;
+
+            List<R>[] copy = current.clone();
+            List<R> requirements = new ArrayList<>(current[key]);
+            requirements.removeIf(indexed -> Objects.equals(indexed.getId(), requirement.getId()));
+            copy[key] = requirements.isEmpty() ? null : List.copyOf(requirements);
+
+            this.requirementsByKey = copy;
+        }
+    }
+
+    /**
+     * Adds the requirement to the list, unless a requirement with the same id is already indexed.
+     *
+     * @param requirements The list to add the requirement to.
+     * @param requirement  The requirement to add.
+     * @param <R>          The requirement type of the list.
+     */
+    private static <R extends AbstractQuestRequirement> void addIfAbsent(@NotNull List<R> requirements, @NotNull R requirement) {
+        if (requirement.getId() != null && requirements.stream().anyMatch(indexed -> requirement.getId().equals(indexed.getId()))) return;
+        requirements.add(requirement);
+    }
+
+    /**
+     * Makes all lists of the given index immutable, so they can be read without locking.
+     *
+     * @param index The index to freeze.
+     * @param <R>   The requirement type of the index.
+     * @return The given index.
+     */
+    private static <R extends AbstractQuestRequirement> List<R> @NotNull [] freeze(List<R> @NotNull [] index) {
+        for (int key = 0; key < index.length; key++) {
+            if (index[key] != null) index[key] = List.copyOf(index[key]);
+        }
+        return index;
+    }
+
+    /**
+     * Creates an empty index.
+     *
+     * @param length The number of keys.
+     * @param <R>    The requirement type of the index.
+     * @return The empty index.
+     */
+    @SuppressWarnings("unchecked")
+    private static <R extends AbstractQuestRequirement> List<R> @NotNull [] newIndex(int length) {
+        return (List<R>[]) new List<?>[length];
+    }
+}
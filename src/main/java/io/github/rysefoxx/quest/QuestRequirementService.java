@@ -3,14 +3,18 @@ package io.github.rysefoxx.quest;
 import io.github.rysefoxx.PlayLegendQuest;
 import io.github.rysefoxx.database.ConnectionService;
 import io.github.rysefoxx.util.LogUtils;
+import lombok.Getter;
+import org.bukkit.Bukkit;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.logging.Level;
 
 /**
@@ -20,21 +24,25 @@ import java.util.logging.Level;
 public class QuestRequirementService {
 
     private final SessionFactory sessionFactory;
+    private final Executor databaseExecutor;
+    @Getter
+    private final QuestRequirementDispatcher requirementDispatcher;
 
     /**
-     * Creates a new service instance. It registers all listeners for the implemented {@link AbstractQuestRequirement}.
+     * Creates a new service instance. It creates the {@link QuestRequirementDispatcher} and indexes all implemented {@link AbstractQuestRequirement}.
      */
     public QuestRequirementService(@NotNull PlayLegendQuest plugin) {
         this.sessionFactory = ConnectionService.getSessionFactory();
-
+        this.databaseExecutor = ConnectionService.getExecutor();
+        this.requirementDispatcher = new QuestRequirementDispatcher(plugin);
         registerListener(plugin);
     }
 
     /**
-     * Saves the requirement to the database.
+     * Saves the requirement to the database. After a successful save, the requirement is indexed and receives events.
      *
      * @param toSave The requirement to save.
-     * @return The result of the operation.
+     * @return The id of the requirement or null if an error occurred.
      */
     public @NotNull CompletableFuture<@Nullable Long> save(@NotNull AbstractQuestRequirement toSave) {
         return CompletableFuture.supplyAsync(() -> {
@@ -43,13 +51,23 @@ public class QuestRequirementService {
                 transaction = session.beginTransaction();
                 session.persist(toSave);
                 transaction.commit();
+                this.requirementDispatcher.register(toSave);
                 return toSave.getId();
             } catch (Exception e) {
                 if (transaction != null) transaction.rollback();
                 PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to save requirement: " + e.getMessage(), e);
                 return null;
             }
-        });
+        }, this.databaseExecutor);
+    }
+
+    /**
+     * Removes the requirement from the index, so it no longer receives events.
+     *
+     * @param requirement The requirement to remove.
+     */
+    public void unregister(@NotNull AbstractQuestRequirement requirement) {
+        this.requirementDispatcher.unregister(requirement);
     }
 
     /**
@@ -60,16 +78,16 @@ public class QuestRequirementService {
     private CompletableFuture<List<AbstractQuestRequirement>> findAll() {
         return CompletableFuture.supplyAsync(() -> {
             try (Session session = sessionFactory.openSession()) {
-                return session.createQuery("FROM AbstractQuestRequirement", AbstractQuestRequirement.class).list();
+                return session.createQuery("FROM AbstractQuestRequirement", AbstractQuestRequirement.class).setCacheable(true).list();
             } catch (Exception e) {
                 PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to find all requirements: " + e.getMessage(), e);
                 return null;
             }
-        });
+        }, this.databaseExecutor);
     }
 
     /**
-     * Registers all listeners for the implemented {@link AbstractQuestRequirement}
+     * Indexes all implemented {@link AbstractQuestRequirement} in the {@link QuestRequirementDispatcher}. No requirement is registered as its own listener.
      *
      * @param plugin the plugin instance
      */
@@ -77,11 +95,15 @@ public class QuestRequirementService {
         findAll().thenAccept(abstractQuestRequirements -> {
             if (abstractQuestRequirements == null) return;
 
+            List<AbstractQuestRequirement> requirements = new ArrayList<>(abstractQuestRequirements.size());
             for (AbstractQuestRequirement abstractQuestRequirement : abstractQuestRequirements) {
                 if (abstractQuestRequirement == null) continue;
                 abstractQuestRequirement.setPlugin(plugin);
                 abstractQuestRequirement.register();
+                requirements.add(abstractQuestRequirement);
             }
+
+            this.requirementDispatcher.registerAll(requirements);
         }).exceptionally(throwable -> LogUtils.handleError(null, "Failed to register listeners", throwable));
     }
 
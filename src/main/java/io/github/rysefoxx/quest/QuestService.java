@@ -1,18 +1,16 @@
 package io.github.rysefoxx.quest;
 
 import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import io.github.rysefoxx.PlayLegendQuest;
 import io.github.rysefoxx.database.ConnectionService;
 import io.github.rysefoxx.database.IDatabaseOperation;
-import io.github.rysefoxx.enums.QuestRequirementType;
 import io.github.rysefoxx.enums.ResultType;
-import io.github.rysefoxx.quest.impl.QuestCollectRequirement;
-import io.github.rysefoxx.quest.impl.QuestKillRequirement;
-import io.github.rysefoxx.util.LogUtils;
+import io.github.rysefoxx.quest.type.RequirementType;
+import io.github.rysefoxx.user.QuestUserService;
 import lombok.Getter;
-import org.bukkit.Material;
-import org.bukkit.entity.EntityType;
+import lombok.Setter;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
@@ -20,7 +18,14 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.annotation.Nonnegative;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
@@ -31,16 +36,43 @@ import java.util.logging.Level;
  */
 public class QuestService implements IDatabaseOperation<QuestModel, String> {
 
+    private static final String SELECT_USERS = "SELECT uuid FROM quest_user WHERE quest_name = ?";
+    private static final String DELETE_PROGRESS = "DELETE FROM quest_user_progress WHERE quest_name = ?";
+    private static final String DELETE_USERS = "DELETE FROM quest_user WHERE quest_name = ?";
+
     private final SessionFactory sessionFactory;
+    private final Executor databaseExecutor;
     @Getter
     private final AsyncLoadingCache<String, QuestModel> cache;
+    /**
+     * The published snapshots of all loaded quests. A snapshot is replaced as a whole whenever the quest is saved or loaded.
+     */
+    private final Map<String, QuestDefinition> definitions = new ConcurrentHashMap<>();
+    /**
+     * The names of quests, that were not found in the database. Caffeine does not cache null, so without it every lookup of an unknown name, for example a typo in a command, would query the database again.
+     * <br>
+     * The entries expire after a short time, so quests created on another server are found soon.
+     */
+    private final Cache<String, Boolean> missingQuests = Caffeine.newBuilder()
+            .expireAfterWrite(30, TimeUnit.SECONDS)
+            .maximumSize(1000)
+            .build();
+    /**
+     * Set after creation, because these services depend on this service.
+     */
+    @Setter
+    private QuestUserService questUserService;
+    @Setter
+    private QuestRequirementService questRequirementService;
 
     /**
      * Creates a new service instance and initializes the cache. The cache will expire after 15 minutes of inactivity.
      */
     public QuestService() {
         this.sessionFactory = ConnectionService.getSessionFactory();
+        this.databaseExecutor = ConnectionService.getExecutor();
         this.cache = Caffeine.newBuilder()
+                .executor(this.databaseExecutor)
                 .expireAfterAccess(15, TimeUnit.MINUTES)
                 .buildAsync(this::getQuestModel);
     }
@@ -63,33 +95,22 @@ public class QuestService implements IDatabaseOperation<QuestModel, String> {
                     session.merge(toSave);
                 }
                 transaction.commit();
-                return ResultType.SUCCESS;
+                publish(toSave);
+                ResultType resultType = writeThrough(this.cache, toSave.getName(), toSave);
+                this.missingQuests.invalidate(toSave.getName());
+                return resultType;
             } catch (Exception e) {
                 if (transaction != null) transaction.rollback();
                 PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to save QuestModel: " + e.getMessage(), e);
                 return ResultType.ERROR;
             }
-        }).thenCompose(result -> result == ResultType.SUCCESS ? refreshCache(toSave.getName()) : CompletableFuture.completedFuture(result));
+        }, this.databaseExecutor);
     }
 
     /**
-     * Refreshes the cache for the given identifier.
-     *
-     * @param questName The identifier of the quest model.
-     * @return The result of the operation.
-     */
-    private @NotNull CompletableFuture<@NotNull ResultType> refreshCache(@NotNull String questName) {
-        return this.cache.synchronous().refresh(questName)
-                .thenApply(v -> ResultType.SUCCESS)
-                .exceptionally(throwable -> {
-                    LogUtils.handleError(null, "Error while refreshing QuestModel cache", throwable);
-                    return ResultType.ERROR;
-                });
-    }
-
-
-    /**
-     * Deletes the object from the database by the given identifier.
+     * Deletes the object from the database by the given identifier. The active quests and the progress of the players are deleted in the same transaction. Foreign keys created by hibernate on older installs do not cascade, so they are not relied on.
+     * <br>
+     * Once committed, the requirements no longer receive events and the players, that had the quest active, lose its state, caches and expiration.
      *
      * @param toDelete The id to delete.
      * @return The result of the operation.
@@ -104,16 +125,39 @@ public class QuestService implements IDatabaseOperation<QuestModel, String> {
                 QuestModel questModel = session.get(QuestModel.class, toDelete);
                 if (questModel == null) return ResultType.NO_ROWS_AFFECTED;
 
+                List<UUID> uuids = new ArrayList<>();
+                session.doWork(connection -> {
+                    try (PreparedStatement statement = connection.prepareStatement(SELECT_USERS)) {
+                        statement.setString(1, toDelete);
+                        try (ResultSet resultSet = statement.executeQuery()) {
+                            while (resultSet.next()) {
+                                uuids.add(UUID.fromString(resultSet.getString(1)));
+                            }
+                        }
+                    }
+
+                    for (String query : List.of(DELETE_PROGRESS, DELETE_USERS)) {
+                        try (PreparedStatement statement = connection.prepareStatement(query)) {
+                            statement.setString(1, toDelete);
+                            statement.executeUpdate();
+                        }
+                    }
+                });
                 session.remove(questModel);
                 transaction.commit();
                 cache.synchronous().invalidate(toDelete);
+                definitions.remove(toDelete);
+                missingQuests.put(toDelete, true);
+
+                questModel.getRequirements().forEach(this.questRequirementService::unregister);
+                uuids.forEach(this.questUserService::evictQuest);
                 return ResultType.SUCCESS;
             } catch (Exception e) {
                 if (transaction != null) transaction.rollback();
                 PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to delete QuestModel: " + e.getMessage(), e);
                 return ResultType.ERROR;
             }
-        });
+        }, this.databaseExecutor);
     }
 
     /**
@@ -134,13 +178,14 @@ public class QuestService implements IDatabaseOperation<QuestModel, String> {
                 session.remove(session.contains(requirement) ? requirement : session.merge(requirement));
 
                 transaction.commit();
+                publish(questModel);
                 return ResultType.SUCCESS;
             } catch (Exception e) {
                 if (transaction != null) transaction.rollback();
                 PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to remove requirement from QuestModel: " + e.getMessage(), e);
                 return ResultType.ERROR;
             }
-        });
+        }, this.databaseExecutor);
     }
 
     /**
@@ -148,12 +193,19 @@ public class QuestService implements IDatabaseOperation<QuestModel, String> {
      *
      * @param questName The identifier of the quest model.
      * @param executor  The executor to run the operation on.
-     * @return The quest model or null if an error occurred.
+     * @return The quest model or null if it does not exist or an error occurred.
      */
     private @NotNull CompletableFuture<@Nullable QuestModel> getQuestModel(@NotNull String questName, @NotNull Executor executor) {
         return CompletableFuture.supplyAsync(() -> {
             try (Session session = sessionFactory.openSession()) {
-                return session.get(QuestModel.class, questName);
+                QuestModel questModel = session.get(QuestModel.class, questName);
+                if (questModel == null) {
+                    this.missingQuests.put(questName, true);
+                    return null;
+                }
+
+                publish(questModel);
+                return questModel;
             } catch (Exception e) {
                 PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to get QuestModel: " + e.getMessage(), e);
                 return null;
@@ -162,15 +214,56 @@ public class QuestService implements IDatabaseOperation<QuestModel, String> {
     }
 
     /**
-     * Finds a quest model by the given identifier in the cache. If the quest model is not in the cache, it will be loaded from the database.
+     * Finds a quest model by the given identifier in the cache. If the quest model is not in the cache, it will be loaded from the database. Names, that were recently not found, are answered from memory.
      *
      * @param questName The identifier of the quest model.
-     * @return The quest model or null if an error occurred.
+     * @return The quest model or null if it does not exist or an error occurred.
      */
     public CompletableFuture<QuestModel> findByName(@NotNull String questName) {
+        // A quest saved while a lookup was running is in the cache, even if the lookup marked it as missing.
+        CompletableFuture<QuestModel> cached = this.cache.getIfPresent(questName);
+        if (cached != null) return cached;
+        if (this.missingQuests.getIfPresent(questName) != null) return CompletableFuture.completedFuture(null);
+
         return this.cache.get(questName);
     }
 
+    /**
+     * Publishes a new snapshot of the quest model. Readers holding the old snapshot are not affected.
+     *
+     * @param questModel The quest model to publish.
+     * @return The published snapshot.
+     */
+    private @NotNull QuestDefinition publish(@NotNull QuestModel questModel) {
+        QuestDefinition questDefinition = QuestDefinition.of(questModel);
+        this.definitions.put(questModel.getName(), questDefinition);
+        return questDefinition;
+    }
+
+    /**
+     * Gets the published snapshot of the given quest. If no snapshot is published yet, it is created from the given quest model.
+     *
+     * @param questModel The quest model, for example loaded together with the progress of a player.
+     * @return The published snapshot.
+     */
+    public @NotNull QuestDefinition definitionOf(@NotNull QuestModel questModel) {
+        QuestDefinition questDefinition = this.definitions.get(questModel.getName());
+        return questDefinition != null ? questDefinition : publish(questModel);
+    }
+
+    /**
+     * Finds the published snapshot of the given quest. If no snapshot is published yet, the quest is loaded.
+     *
+     * @param questName The name of the quest.
+     * @return The snapshot or null if the quest does not exist.
+     */
+    public @NotNull CompletableFuture<@Nullable QuestDefinition> findDefinition(@NotNull String questName) {
+        QuestDefinition questDefinition = this.definitions.get(questName);
+        if (questDefinition != null) return CompletableFuture.completedFuture(questDefinition);
+
+        return findByName(questName).thenApply(questModel -> questModel == null ? null : definitionOf(questModel));
+    }
+
     /**
      * Finds a requirement by the given identifier.
      *
@@ -185,7 +278,7 @@ public class QuestService implements IDatabaseOperation<QuestModel, String> {
                 PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to get AbstractQuestRequirement: " + e.getMessage(), e);
                 return null;
             }
-        });
+        }, this.databaseExecutor);
     }
 
     /**
@@ -197,21 +290,7 @@ public class QuestService implements IDatabaseOperation<QuestModel, String> {
      * @param args              The arguments to create the requirement.
      * @return The requirement instance or null if an error occurred.
      */
-    public @Nullable AbstractQuestRequirement createRequirement(@NotNull PlayLegendQuest plugin, @NotNull QuestRequirementType requirementType, @Nonnegative int requirementAmount, @NotNull String[] args) {
-        String data = args[5];
-        return switch (requirementType) {
-            case COLLECT -> {
-                Material material = Material.getMaterial(data);
-                if (material == null) yield null;
-
-                yield new QuestCollectRequirement(plugin, requirementAmount, material);
-            }
-            case KILL -> {
-                EntityType entityType = EntityType.fromName(data);
-                if (entityType == null) yield null;
-
-                yield new QuestKillRequirement(plugin, requirementAmount, entityType);
-            }
-        };
+    public @Nullable AbstractQuestRequirement createRequirement(@NotNull PlayLegendQuest plugin, @NotNull RequirementType<?, ?> requirementType, @Nonnegative int requirementAmount, @NotNull String[] args) {
+        return requirementType.getFactory().create(plugin, requirementAmount, args[5]);
     }
 }
\ No newline at end of file
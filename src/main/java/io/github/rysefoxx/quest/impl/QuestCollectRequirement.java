@@ -1,18 +1,15 @@
 package io.github.rysefoxx.quest.impl;
 
 import io.github.rysefoxx.PlayLegendQuest;
-import io.github.rysefoxx.enums.QuestRequirementType;
 import io.github.rysefoxx.language.LanguageService;
-import io.github.rysefoxx.progress.QuestUserProgressModel;
 import io.github.rysefoxx.quest.AbstractQuestRequirement;
+import io.github.rysefoxx.quest.type.RequirementType;
 import jakarta.persistence.*;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityPickupItemEvent;
-import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nonnegative;
@@ -24,17 +21,42 @@ import javax.annotation.Nonnegative;
 @Entity
 @NoArgsConstructor
 @DiscriminatorValue("COLLECT")
-public class QuestCollectRequirement extends AbstractQuestRequirement implements Listener {
+public class QuestCollectRequirement extends AbstractQuestRequirement {
 
+    /**
+     * Pickups are coalesced, so walking over a pile of drops only causes one progress update.
+     */
+    public static final RequirementType<EntityPickupItemEvent, QuestCollectRequirement> TYPE = RequirementType.<EntityPickupItemEvent, QuestCollectRequirement>builder()
+            .name("COLLECT")
+            .requirementClass(QuestCollectRequirement.class)
+            .eventClass(EntityPickupItemEvent.class)
+            .requirementKey(requirement -> requirement.getMaterial() == null ? -1 : requirement.getMaterial().ordinal())
+            .eventKey(event -> event.getItem().getItemStack().getType().ordinal())
+            .player(event -> event.getEntity() instanceof Player player ? player : null)
+            .amount(event -> event.getItem().getItemStack().getAmount())
+            .coalesce(true)
+            .ignoreCancelled(true)
+            .factory((plugin, requiredAmount, data) -> {
+                Material material = Material.getMaterial(data);
+                return material == null ? null : new QuestCollectRequirement(plugin, requiredAmount, material);
+            })
+            .build();
+
+    @Getter
     @Column(length = 90)
     @Enumerated(EnumType.STRING)
     private Material material;
 
     public QuestCollectRequirement(@NotNull PlayLegendQuest plugin, @Nonnegative int requiredAmount, @NotNull Material material) {
-        super(plugin, requiredAmount, QuestRequirementType.COLLECT);
+        super(plugin, requiredAmount, TYPE);
         this.material = material;
     }
 
+    @Override
+    public @NotNull RequirementType<?, ?> getRequirementType() {
+        return TYPE;
+    }
+
     @Override
     public void sendInfo(@NotNull Player player, @NotNull LanguageService languageService) {
         languageService.sendTranslatedMessage(player, "quest_requirement_info", String.valueOf(getId()));
@@ -44,17 +66,7 @@ public class QuestCollectRequirement extends AbstractQuestRequirement implements
     }
 
     @Override
-    public @NotNull String getProgressText(@NotNull QuestUserProgressModel questUserProgressModel) {
-        return questUserProgressModel.getProgress() + "/" + getRequiredAmount() + " (" + getQuestRequirementType().toString() + " " + getRequiredAmount() + " " + this.material.toString() + ")";
-    }
-
-    @EventHandler
-    private void onItemPickup(@NotNull EntityPickupItemEvent event) {
-        if (!(event.getEntity() instanceof Player player)) return;
-
-        ItemStack itemStack = event.getItem().getItemStack();
-        if (itemStack.getType() != this.material) return;
-
-        updateProgress(player, itemStack.getAmount());
+    public @NotNull String getTarget() {
+        return String.valueOf(this.material);
     }
 }
\ No newline at end of file
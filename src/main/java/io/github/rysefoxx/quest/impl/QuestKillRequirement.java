@@ -1,20 +1,17 @@
 package io.github.rysefoxx.quest.impl;
 
 import io.github.rysefoxx.PlayLegendQuest;
-import io.github.rysefoxx.enums.QuestRequirementType;
 import io.github.rysefoxx.language.LanguageService;
-import io.github.rysefoxx.progress.QuestUserProgressModel;
 import io.github.rysefoxx.quest.AbstractQuestRequirement;
+import io.github.rysefoxx.quest.type.RequirementType;
 import jakarta.persistence.Column;
 import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDeathEvent;
 import org.jetbrains.annotations.NotNull;
 
@@ -27,17 +24,36 @@ import javax.annotation.Nonnegative;
 @jakarta.persistence.Entity
 @NoArgsConstructor
 @DiscriminatorValue("KILL")
-public class QuestKillRequirement extends AbstractQuestRequirement implements Listener {
+public class QuestKillRequirement extends AbstractQuestRequirement {
 
+    public static final RequirementType<EntityDeathEvent, QuestKillRequirement> TYPE = RequirementType.<EntityDeathEvent, QuestKillRequirement>builder()
+            .name("KILL")
+            .requirementClass(QuestKillRequirement.class)
+            .eventClass(EntityDeathEvent.class)
+            .requirementKey(requirement -> requirement.getEntityType() == null ? -1 : requirement.getEntityType().ordinal())
+            .eventKey(event -> event.getEntityType().ordinal())
+            .player(event -> event.getEntity().getKiller())
+            .factory((plugin, requiredAmount, data) -> {
+                EntityType entityType = EntityType.fromName(data);
+                return entityType == null ? null : new QuestKillRequirement(plugin, requiredAmount, entityType);
+            })
+            .build();
+
+    @Getter
     @Column(name = "entity_type", length = 90)
     @Enumerated(EnumType.STRING)
     private EntityType entityType;
 
     public QuestKillRequirement(@NotNull PlayLegendQuest plugin, @Nonnegative int requiredAmount, @NotNull EntityType entityType) {
-        super(plugin, requiredAmount, QuestRequirementType.KILL);
+        super(plugin, requiredAmount, TYPE);
         this.entityType = entityType;
     }
 
+    @Override
+    public @NotNull RequirementType<?, ?> getRequirementType() {
+        return TYPE;
+    }
+
     @Override
     public void sendInfo(@NotNull Player player, @NotNull LanguageService languageService) {
         languageService.sendTranslatedMessage(player, "quest_requirement_info", String.valueOf(getId()));
@@ -47,16 +63,7 @@ public class QuestKillRequirement extends AbstractQuestRequirement implements Li
     }
 
     @Override
-    public @NotNull String getProgressText(@NotNull QuestUserProgressModel questUserProgressModel) {
-        return questUserProgressModel.getProgress() + "/" + getRequiredAmount() + " (" + getQuestRequirementType().toString() + " " + getRequiredAmount() + " " + this.entityType.toString() + ")";
-    }
-
-    @EventHandler
-    private void onEntityDeath(@NotNull EntityDeathEvent event) {
-        if (event.getEntityType() != this.entityType) return;
-        Entity entity = event.getEntity();
-        if(!(entity instanceof Player player)) return;
-
-        updateProgress(player, 1);
+    public @NotNull String getTarget() {
+        return String.valueOf(this.entityType);
     }
 }
\ No newline at end of file
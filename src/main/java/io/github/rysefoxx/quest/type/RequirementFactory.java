@@ -0,0 +1,29 @@
+package io.github.rysefoxx.quest.type;
+
+import io.github.rysefoxx.PlayLegendQuest;
+import io.github.rysefoxx.quest.AbstractQuestRequirement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.Nonnegative;
+
+/**
+ * Creates a requirement of a {@link RequirementType} from the command input.
+ *
+ * @param <R> The requirement class.
+ * @author Rysefoxx
+ * @since 17.10.2026
+ */
+@FunctionalInterface
+public interface RequirementFactory<R extends AbstractQuestRequirement> {
+
+    /**
+     * Creates a new requirement.
+     *
+     * @param plugin         The plugin instance.
+     * @param requiredAmount The amount required to complete the requirement.
+     * @param data           The type specific input, for example the name of the entity type.
+     * @return The requirement or null if the input is invalid.
+     */
+    @Nullable R create(@NotNull PlayLegendQuest plugin, @Nonnegative int requiredAmount, @NotNull String data);
+}
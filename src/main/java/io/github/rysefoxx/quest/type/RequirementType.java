@@ -0,0 +1,98 @@
+package io.github.rysefoxx.quest.type;
+
+import io.github.rysefoxx.quest.AbstractQuestRequirement;
+import lombok.Builder;
+import lombok.Getter;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Describes a kind of requirement and how it is matched against its event. The requirements of a type are indexed by a key, for example the ordinal of the {@link org.bukkit.entity.EntityType} or {@link org.bukkit.Material}. An event is only matched against the requirements with the same key.
+ * <br>
+ * A type costs nothing as long as no requirement of it exists. Its event is only listened to once the first requirement is indexed.
+ *
+ * @param <E> The event that progresses the requirement.
+ * @param <R> The requirement class.
+ * @author Rysefoxx
+ * @since 17.10.2026
+ */
+@Getter
+public final class RequirementType<E extends Event, R extends AbstractQuestRequirement> {
+
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    /**
+     * Dense id of the type. It is used to address per type data without a map lookup.
+     */
+    private final int id;
+    /**
+     * The name of the type. It is stored as discriminator in the database.
+     */
+    private final String name;
+    private final Class<R> requirementClass;
+    private final Class<E> eventClass;
+    /**
+     * Extracts the key the requirement is waiting for. A negative key is never matched.
+     */
+    private final ToIntFunction<R> requirementKey;
+    /**
+     * Extracts the key of the event. A negative key is ignored.
+     */
+    private final ToIntFunction<E> eventKey;
+    /**
+     * Extracts the player that made progress or null if the event was not caused by a player.
+     */
+    private final Function<E, @Nullable Player> player;
+    /**
+     * Extracts the amount the progress is increased by.
+     */
+    private final ToIntFunction<E> amount;
+    /**
+     * Additional check, applied after the key matched.
+     */
+    private final BiPredicate<E, R> matcher;
+    /**
+     * Whether the progress of one tick is collected and applied as one update.
+     */
+    private final boolean coalesce;
+    private final boolean ignoreCancelled;
+    private final RequirementFactory<R> factory;
+
+    @Builder
+    private RequirementType(@NotNull String name, @NotNull Class<R> requirementClass, @NotNull Class<E> eventClass, @NotNull ToIntFunction<R> requirementKey, @NotNull ToIntFunction<E> eventKey, @NotNull Function<E, @Nullable Player> player, @Nullable ToIntFunction<E> amount, @Nullable BiPredicate<E, R> matcher, boolean coalesce, boolean ignoreCancelled, @NotNull RequirementFactory<R> factory) {
+        this.id = NEXT_ID.getAndIncrement();
+        this.name = name.toUpperCase();
+        this.requirementClass = requirementClass;
+        this.eventClass = eventClass;
+        this.requirementKey = requirementKey;
+        this.eventKey = eventKey;
+        this.player = player;
+        this.amount = amount == null ? event -> 1 : amount;
+        this.matcher = matcher == null ? (event, requirement) -> true : matcher;
+        this.coalesce = coalesce;
+        this.ignoreCancelled = ignoreCancelled;
+        this.factory = factory;
+    }
+
+    /**
+     * Gets the key the given requirement is waiting for.
+     *
+     * @param requirement The requirement of this type.
+     * @return The key or a negative value if the requirement has no key.
+     */
+    public int keyOf(@NotNull AbstractQuestRequirement requirement) {
+        return this.requirementKey.applyAsInt(this.requirementClass.cast(requirement));
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.rysefoxx.quest.type;
+
+import io.github.rysefoxx.quest.AbstractQuestRequirement;
+import io.github.rysefoxx.quest.impl.QuestCollectRequirement;
+import io.github.rysefoxx.quest.impl.QuestKillRequirement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds all known {@link RequirementType}s. Types have to be registered before the database connection is established, because their requirement classes are mapped by hibernate.
+ *
+ * @author Rysefoxx
+ * @since 17.10.2026
+ */
+public class RequirementTypeRegistry {
+
+    private final Map<String, RequirementType<?, ?>> types = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new registry with the built-in types.
+     */
+    public RequirementTypeRegistry() {
+        register(QuestKillRequirement.TYPE);
+        register(QuestCollectRequirement.TYPE);
+    }
+
+    /**
+     * Registers the given type.
+     *
+     * @param type The type to register.
+     * @return true if the type was registered, false if a type with the same name already exists.
+     */
+    public boolean register(@NotNull RequirementType<?, ?> type) {
+        return this.types.putIfAbsent(type.getName(), type) == null;
+    }
+
+    /**
+     * Gets the type by its name. The name is case-insensitive.
+     *
+     * @param name The name of the type.
+     * @return The type or null if no type with the name exists.
+     */
+    public @Nullable RequirementType<?, ?> get(@NotNull String name) {
+        return this.types.get(name.toUpperCase());
+    }
+
+    /**
+     * @return All registered types.
+     */
+    public @NotNull Collection<RequirementType<?, ?>> getTypes() {
+        return Collections.unmodifiableCollection(this.types.values());
+    }
+
+    /**
+     * @return The requirement classes of all registered types.
+     */
+    public @NotNull List<Class<? extends AbstractQuestRequirement>> getRequirementClasses() {
+        return this.types.values().stream()
+                .<Class<? extends AbstractQuestRequirement>>map(RequirementType::getRequirementClass)
+                .toList();
+    }
+}
@@ -0,0 +1,28 @@
+package io.github.rysefoxx.reward;
+
+import io.github.rysefoxx.enums.QuestRewardType;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Immutable copy of a {@link QuestRewardModel}, taken when the {@link io.github.rysefoxx.quest.QuestDefinition} is published.
+ *
+ * @param id     The id of the reward.
+ * @param type   The type of the reward.
+ * @param reward The reward as string.
+ * @author Rysefoxx
+ * @since 17.10.2026
+ */
+public record QuestRewardDefinition(long id,
+                                    @NotNull QuestRewardType type,
+                                    @NotNull String reward) {
+
+    /**
+     * Copies the given reward.
+     *
+     * @param questRewardModel The reward to copy.
+     * @return The copy.
+     */
+    public static @NotNull QuestRewardDefinition of(@NotNull QuestRewardModel questRewardModel) {
+        return new QuestRewardDefinition(questRewardModel.getId(), questRewardModel.getQuestRewardType(), questRewardModel.getReward());
+    }
+}
@@ -7,7 +7,7 @@ import io.github.rysefoxx.database.ConnectionService;
 import io.github.rysefoxx.database.IDatabaseOperation;
 import io.github.rysefoxx.enums.QuestRewardType;
 import io.github.rysefoxx.enums.ResultType;
-import io.github.rysefoxx.quest.QuestModel;
+import io.github.rysefoxx.quest.QuestDefinition;
 import io.github.rysefoxx.reward.impl.CoinQuestReward;
 import io.github.rysefoxx.reward.impl.ExperienceQuestReward;
 import io.github.rysefoxx.reward.impl.ItemQuestReward;
@@ -19,8 +19,11 @@ import org.hibernate.Transaction;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
@@ -33,16 +36,23 @@ import java.util.logging.Level;
 public class QuestRewardService implements IDatabaseOperation<QuestRewardModel, Long> {
 
     private final SessionFactory sessionFactory;
+    private final Executor databaseExecutor;
     private final HashMap<QuestRewardType, AbstractQuestReward<?>> rewards = new HashMap<>();
     private final AsyncLoadingCache<Long, QuestRewardModel> cache;
+    /**
+     * The completed quests of players, that went offline before they were rewarded. Only accessed on the main thread.
+     */
+    private final Map<UUID, List<QuestDefinition>> pendingRewards = new HashMap<>();
 
     /**
      * Creates a new service instance and initializes the cache. The cache will expire after 15 minutes of inactivity. It also loads all rewards and registers them.
      */
     public QuestRewardService(@NotNull PlayLegendQuest plugin) {
         this.sessionFactory = ConnectionService.getSessionFactory();
+        this.databaseExecutor = ConnectionService.getExecutor();
 
         this.cache = Caffeine.newBuilder()
+                .executor(this.databaseExecutor)
                 .expireAfterAccess(15, TimeUnit.MINUTES)
                 .buildAsync(this::getQuestReward);
 
@@ -79,28 +89,13 @@ public class QuestRewardService implements IDatabaseOperation<QuestRewardModel,
                     session.merge(toSave);
                 }
                 transaction.commit();
-                return ResultType.SUCCESS;
+                return writeThrough(this.cache, toSave.getId(), toSave);
             } catch (Exception e) {
                 if (transaction != null) transaction.rollback();
                 PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to save QuestRewardModel: " + e.getMessage(), e);
                 return ResultType.ERROR;
             }
-        }).thenCompose(result -> result == ResultType.SUCCESS ? refreshCache(toSave.getId()) : CompletableFuture.completedFuture(result));
-    }
-
-    /**
-     * Refreshes the cache for the given identifier.
-     *
-     * @param rewardId The identifier of the quest reward model.
-     * @return The result of the operation.
-     */
-    private @NotNull CompletableFuture<@NotNull ResultType> refreshCache(Long rewardId) {
-        return this.cache.synchronous().refresh(rewardId)
-                .thenApply(v -> ResultType.SUCCESS)
-                .exceptionally(throwable -> {
-                    LogUtils.handleError(null, "Error while refreshing QuestRewardModel cache", throwable);
-                    return ResultType.ERROR;
-                });
+        }, this.databaseExecutor);
     }
 
     /**
@@ -128,7 +123,7 @@ public class QuestRewardService implements IDatabaseOperation<QuestRewardModel,
                 PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to delete QuestRewardModel: " + e.getMessage(), e);
                 return ResultType.ERROR;
             }
-        });
+        }, this.databaseExecutor);
     }
 
     /**
@@ -158,7 +153,7 @@ public class QuestRewardService implements IDatabaseOperation<QuestRewardModel,
                 PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to update QuestRewardModel: " + e.getMessage(), e);
                 return ResultType.ERROR;
             }
-        });
+        }, this.databaseExecutor);
     }
 
     /**
@@ -226,21 +221,44 @@ public class QuestRewardService implements IDatabaseOperation<QuestRewardModel,
     }
 
     /**
-     * Rewards the player with the given rewards.
+     * Rewards the player with the given rewards. Coin rewards are granted by the completion itself, see {@link CoinQuestReward}.
      *
-     * @param player     The player to reward.
-     * @param questModel The quest model to reward the player with.
-     * @param <T>        The type of the reward.
+     * @param player          The player to reward.
+     * @param questDefinition The quest to reward the player with.
+     * @param <T>             The type of the reward.
      */
     @SuppressWarnings("unchecked")
-    public <T> void rewardPlayer(@NotNull Player player, @NotNull QuestModel questModel) {
-        for (QuestRewardModel reward : questModel.getRewards()) {
-            QuestRewardType type = reward.getQuestRewardType();
-            AbstractQuestReward<?> questReward = rewards.get(type);
+    public <T> void rewardPlayer(@NotNull Player player, @NotNull QuestDefinition questDefinition) {
+        for (QuestRewardDefinition reward : questDefinition.rewards().values()) {
+            AbstractQuestReward<?> questReward = rewards.get(reward.type());
             if (questReward == null) continue;
 
             AbstractQuestReward<T> typedReward = (AbstractQuestReward<T>) questReward;
-            typedReward.rewardPlayer(player, typedReward.rewardStringToGeneric(reward.getReward()));
+            typedReward.rewardPlayer(player, typedReward.rewardStringToGeneric(reward.reward()));
+        }
+    }
+
+    /**
+     * Keeps the rewards of the quest until the player joins again.
+     *
+     * @param uuid            The uuid of the offline player.
+     * @param questDefinition The completed quest.
+     */
+    public void queueRewards(@NotNull UUID uuid, @NotNull QuestDefinition questDefinition) {
+        this.pendingRewards.computeIfAbsent(uuid, key -> new ArrayList<>()).add(questDefinition);
+    }
+
+    /**
+     * Gives the player the rewards, that were kept while the player was offline.
+     *
+     * @param player The player that joined.
+     */
+    public void rewardPending(@NotNull Player player) {
+        List<QuestDefinition> questDefinitions = this.pendingRewards.remove(player.getUniqueId());
+        if (questDefinitions == null) return;
+
+        for (QuestDefinition questDefinition : questDefinitions) {
+            rewardPlayer(player, questDefinition);
         }
     }
 
@@ -252,12 +270,12 @@ public class QuestRewardService implements IDatabaseOperation<QuestRewardModel,
     private @NotNull CompletableFuture<@Nullable List<QuestRewardModel>> findAll() {
         return CompletableFuture.supplyAsync(() -> {
             try (Session session = sessionFactory.openSession()) {
-                return session.createQuery("FROM QuestRewardModel", QuestRewardModel.class).list();
+                return session.createQuery("FROM QuestRewardModel", QuestRewardModel.class).setCacheable(true).list();
             } catch (Exception e) {
                 PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to find all QuestRewardModel: " + e.getMessage(), e);
                 return null;
             }
-        });
+        }, this.databaseExecutor);
     }
 
     /**
@@ -2,17 +2,15 @@ package io.github.rysefoxx.reward.impl;
 
 import io.github.rysefoxx.PlayLegendQuest;
 import io.github.rysefoxx.enums.QuestRewardType;
-import io.github.rysefoxx.enums.ResultType;
 import io.github.rysefoxx.reward.AbstractQuestReward;
 import io.github.rysefoxx.reward.QuestRewardModel;
-import io.github.rysefoxx.util.LogUtils;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.logging.Level;
-
 /**
+ * Coins are not given by {@link #rewardPlayer}, they are granted by {@link io.github.rysefoxx.user.QuestUserService#completeQuest} in the transaction that completes the quest.
+ *
  * @author Rysefoxx
  * @since 16.05.2024
  */
@@ -41,24 +39,5 @@ public class CoinQuestReward extends AbstractQuestReward<Long> {
 
     @Override
     public void rewardPlayer(@NotNull Player player, @Nullable Long reward) {
-        if (reward == null) {
-            getLanguageService().sendTranslatedMessage(player, "quest_reward_null");
-            return;
-        }
-
-        getPlayerStatisticsService().getPlayerStats(player.getUniqueId()).thenAccept(playerStatisticsModel -> {
-            if (playerStatisticsModel == null) {
-                player.sendRichMessage("Failed to get player statistics model");
-                getPlugin().getLogger().severe("Failed to get player statistics model");
-                return;
-            }
-
-            playerStatisticsModel.addCoins(reward);
-            getPlayerStatisticsService().save(playerStatisticsModel).thenAccept(resultType -> {
-                if (resultType != ResultType.ERROR) return;
-                getLanguageService().sendTranslatedMessage(player, "quest_reward_error");
-                PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to save player statistics model");
-            }).exceptionally(throwable -> LogUtils.handleError(player, "Failed to save player statistics model", throwable));
-        }).exceptionally(throwable -> LogUtils.handleError(player, "Failed to get player statistics model", throwable));
     }
 }
\ No newline at end of file
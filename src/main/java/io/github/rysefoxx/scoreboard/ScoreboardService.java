@@ -4,11 +4,15 @@ import io.github.rysefoxx.PlayLegendQuest;
 import io.github.rysefoxx.language.LanguageService;
 import io.github.rysefoxx.progress.QuestUserProgressModel;
 import io.github.rysefoxx.progress.QuestUserProgressService;
-import io.github.rysefoxx.quest.QuestModel;
+import io.github.rysefoxx.quest.QuestDefinition;
+import io.github.rysefoxx.quest.QuestService;
 import io.github.rysefoxx.scoreboard.enums.ScoreboardPredefinedValue;
 import io.github.rysefoxx.scoreboard.impl.QuestScoreboard;
 import io.github.rysefoxx.user.QuestUserModel;
+import io.github.rysefoxx.user.QuestUserService;
+import io.github.rysefoxx.util.LogUtils;
 import io.github.rysefoxx.util.TimeUtils;
+import lombok.Setter;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
@@ -27,10 +31,17 @@ public class ScoreboardService {
     private final HashMap<UUID, AbstractScoreboard> playerScoreboard = new HashMap<>();
 
     private final QuestUserProgressService questUserProgressService;
+    private final QuestService questService;
     private final LanguageService languageService;
+    /**
+     * Set after creation, because the {@link QuestUserService} itself depends on this service.
+     */
+    @Setter
+    private QuestUserService questUserService;
 
-    public ScoreboardService(@NotNull QuestUserProgressService questUserProgressService, @NotNull LanguageService languageService) {
+    public ScoreboardService(@NotNull QuestUserProgressService questUserProgressService, @NotNull QuestService questService, @NotNull LanguageService languageService) {
         this.questUserProgressService = questUserProgressService;
+        this.questService = questService;
         this.languageService = languageService;
     }
 
@@ -120,8 +131,8 @@ public class ScoreboardService {
             return;
         }
 
-        this.questUserProgressService.findByUuid(player.getUniqueId()).thenAccept(questUserProgressModels -> {
-            QuestModel questModel = questUserProgressModels.isEmpty() ? null : questUserProgressModels.get(0).getQuest();
+        this.questUserProgressService.findByUuid(player.getUniqueId()).thenAcceptBoth(this.questUserService.findByUuid(player.getUniqueId()), (questUserProgressModels, questUserModel) -> {
+            QuestDefinition questDefinition = questUserProgressModels.isEmpty() ? null : this.questService.definitionOf(questUserProgressModels.get(0).getQuest());
             Map<String, ScoreboardEntry> lines = abstractScoreboard.getLines(player, this.languageService);
 
             for (Map.Entry<String, ScoreboardEntry> entry : lines.entrySet()) {
@@ -132,10 +143,10 @@ public class ScoreboardService {
                     continue;
                 }
 
-                Component component = getComponentForPredefinedValue(scoreboardEntry.predefinedValue(), player, questModel, questUserProgressModels);
+                Component component = getComponentForPredefinedValue(scoreboardEntry.predefinedValue(), player, questDefinition, questUserModel, questUserProgressModels);
                 team.suffix(component);
             }
-        });
+        }).exceptionally(throwable -> LogUtils.handleError(null, "Failed to update the scoreboard of " + player.getName(), throwable));
     }
 
     /**
@@ -143,39 +154,35 @@ public class ScoreboardService {
      *
      * @param predefinedValue         The predefined value to get the component for.
      * @param player                  The player to get the component for.
-     * @param questModel              The quest model to get the component for.
+     * @param questDefinition         The quest to get the component for.
+     * @param questUserModel          The active quest of the player.
      * @param questUserProgressModels The quest user progress models to get the component for.
      * @return The component for the predefined value.
      */
-    private @NotNull Component getComponentForPredefinedValue(@NotNull ScoreboardPredefinedValue predefinedValue, @NotNull Player player, @Nullable QuestModel questModel, @NotNull List<QuestUserProgressModel> questUserProgressModels) {
+    private @NotNull Component getComponentForPredefinedValue(@NotNull ScoreboardPredefinedValue predefinedValue, @NotNull Player player, @Nullable QuestDefinition questDefinition, @Nullable QuestUserModel questUserModel, @NotNull List<QuestUserProgressModel> questUserProgressModels) {
         return switch (predefinedValue) {
             case QUEST_NAME -> {
-                String questName = questModel != null
-                        ? questModel.getDisplayName()
+                String questName = questDefinition != null
+                        ? questDefinition.displayName()
                         : this.languageService.getTranslatedMessage(player, "quest_no_active");
                 yield Component.text(questName);
             }
             case QUEST_DESCRIPTION -> {
-                String questDescription = (questModel != null && questModel.getDescription() != null)
-                        ? questModel.getDescription()
+                String questDescription = (questDefinition != null && questDefinition.description() != null)
+                        ? questDefinition.description()
                         : this.languageService.getTranslatedMessage(player, "quest_info_no_description");
                 yield Component.text(questDescription);
             }
             case QUEST_PROGRESS -> {
-                String questProgress = questModel != null
-                        ? questModel.getCompletedRequirementsCount(questUserProgressModels) + "/" + questModel.getRequirements().size()
+                String questProgress = questDefinition != null
+                        ? questDefinition.getCompletedRequirementsCount(questUserProgressModels) + "/" + questDefinition.requirements().size()
                         : this.languageService.getTranslatedMessage(player, "quest_no_active");
                 yield Component.text(questProgress);
             }
             case QUEST_REMAINING_TIME -> {
                 String remainingTime;
-                if (questModel != null) {
-                    Optional<QuestUserModel> questUserModelOpt = questModel.getUserQuests().stream()
-                            .filter(questUser -> questUser.getUuid().equals(player.getUniqueId()))
-                            .findFirst();
-                    remainingTime = questUserModelOpt
-                            .map(questUser -> TimeUtils.toReadableString(questUser.getExpiration()))
-                            .orElse("Unknown");
+                if (questDefinition != null) {
+                    remainingTime = questUserModel != null ? TimeUtils.toReadableString(questUserModel.getExpiration()) : "Unknown";
                 } else {
                     remainingTime = this.languageService.getTranslatedMessage(player, "quest_no_active");
                 }
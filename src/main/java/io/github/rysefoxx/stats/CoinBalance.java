@@ -0,0 +1,14 @@
+package io.github.rysefoxx.stats;
+
+import javax.annotation.Nonnegative;
+
+/**
+ * The balance of a player as read from the database.
+ *
+ * @param coins   The coins of the player.
+ * @param version The version of the row, it grows with every change of the balance.
+ * @author Rysefoxx
+ * @since 17.10.2026
+ */
+public record CoinBalance(@Nonnegative long coins, long version) {
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -27,8 +28,18 @@ public class PlayerStatisticsModel {
     @Column(nullable = false, unique = true, columnDefinition = "VARCHAR(36)")
     private UUID uuid;
 
+    /**
+     * Read on the main thread and updated by the database threads.
+     */
+    @Column(nullable = false)
+    private volatile long coins;
+
+    /**
+     * Increased by the database with every change of the balance.
+     */
+    @Version
     @Column(nullable = false)
-    private long coins;
+    private long version;
 
     /**
      * Creates a new PlayerStatisticsModel with the given UUID and 0 coins.
@@ -41,11 +52,13 @@ public class PlayerStatisticsModel {
     }
 
     /**
-     * Adds coins to the player's balance.
+     * Updates the balance with the balance read from the database. A balance with an older version, that is applied late, is ignored.
      *
-     * @param coins The amount of coins to add.
+     * @param balance The balance stored in the database.
      */
-    public void addCoins(@Nonnegative long coins) {
-        this.coins += coins;
+    public synchronized void updateCoins(@NotNull CoinBalance balance) {
+        if (balance.version() <= this.version) return;
+        this.coins = balance.coins();
+        this.version = balance.version();
     }
 }
\ No newline at end of file
@@ -1,22 +1,30 @@
 package io.github.rysefoxx.stats;
 
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
 import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import io.github.rysefoxx.PlayLegendQuest;
 import io.github.rysefoxx.database.ConnectionService;
 import io.github.rysefoxx.database.IDatabaseOperation;
 import io.github.rysefoxx.enums.ResultType;
-import io.github.rysefoxx.util.LogUtils;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import javax.annotation.Nonnegative;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
-import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 /**
@@ -25,17 +33,24 @@ import java.util.logging.Level;
  */
 public class PlayerStatisticsService implements IDatabaseOperation<PlayerStatisticsModel, UUID> {
 
+    private static final String ADD_COINS = "INSERT INTO player_stats (uuid, coins, version) VALUES (?, ?, 1) ON DUPLICATE KEY UPDATE coins = coins + VALUES(coins), version = version + 1";
+    private static final String SELECT_COINS = "SELECT coins, version FROM player_stats WHERE uuid = ?";
+
     private final SessionFactory sessionFactory;
+    private final Executor databaseExecutor;
     private final AsyncLoadingCache<UUID, PlayerStatisticsModel> cache;
 
     /**
-     * Creates a new service instance and initializes the cache. The cache will expire after 15 minutes of inactivity.
+     * Creates a new service instance and initializes the cache. The statistics of a player stay cached while he is online, see {@link io.github.rysefoxx.database.PlayerCachePolicy}.
      */
     public PlayerStatisticsService() {
         this.sessionFactory = ConnectionService.getSessionFactory();
-        this.cache = Caffeine.newBuilder()
-                .expireAfterAccess(15, TimeUnit.MINUTES)
-                .buildAsync(this::getOrCreatePlayerStats);
+        this.databaseExecutor = ConnectionService.getExecutor();
+        this.cache = ConnectionService.getPlayerCachePolicy().register(Caffeine.newBuilder()
+                .executor(this.databaseExecutor)
+                .maximumSize(ConnectionService.getPlayerCachePolicy().getMaximumSize())
+                .expireAfter(ConnectionService.getPlayerCachePolicy().expiry())
+                .buildAsync(AsyncCacheLoader.<UUID, PlayerStatisticsModel>bulk(this::getOrCreatePlayerStats)));
     }
 
     /**
@@ -56,31 +71,15 @@ public class PlayerStatisticsService implements IDatabaseOperation<PlayerStatist
                     session.merge(toSave);
                 }
                 transaction.commit();
-                return ResultType.SUCCESS;
+                return writeThrough(this.cache, toSave.getUuid(), toSave);
             } catch (Exception e) {
                 if (transaction != null) transaction.rollback();
                 PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to save PlayerStatisticsModel: " + e.getMessage(), e);
                 return ResultType.ERROR;
             }
-        }).thenCompose(result -> result == ResultType.SUCCESS ? refreshCache(toSave.getUuid()) : CompletableFuture.completedFuture(result));
-    }
-
-    /**
-     * Refreshes the cache for the given identifier.
-     *
-     * @param uuid The identifier of the player statistics model.
-     * @return The result of the operation.
-     */
-    private @NotNull CompletableFuture<@NotNull ResultType> refreshCache(UUID uuid) {
-        return this.cache.synchronous().refresh(uuid)
-                .thenApply(v -> ResultType.SUCCESS)
-                .exceptionally(throwable -> {
-                    LogUtils.handleError(null, "Failed to refresh PlayerStatisticsModel cache", throwable);
-                    return ResultType.ERROR;
-                });
+        }, this.databaseExecutor);
     }
 
-
     /**
      * Deletes the object from the database by the given identifier.
      *
@@ -105,44 +104,116 @@ public class PlayerStatisticsService implements IDatabaseOperation<PlayerStatist
                 PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to delete PlayerStatisticsModel: " + e.getMessage(), e);
                 return ResultType.ERROR;
             }
-        });
+        }, this.databaseExecutor);
     }
 
     /**
-     * Retrieves the player statistics from the database or creates a new one if it doesn't exist.
+     * Retrieves the player statistics of the given players from the database with one query. Players without statistics get empty statistics, that are not stored, the row is created by the first {@link #addCoins(Connection, UUID, long)}.
      *
-     * @param uuid     The UUID of the player.
+     * @param uuids    The UUIDs of the players.
      * @param executor The executor to run the task on.
-     * @return The player statistics model. Or null if an error occurred.
+     * @return The player statistics models by the UUID of their player. Completes exceptionally if the query failed, so nothing is cached.
      */
-    private @NotNull CompletableFuture<@Nullable PlayerStatisticsModel> getOrCreatePlayerStats(@NotNull UUID uuid, @NotNull Executor executor) {
+    private @NotNull CompletableFuture<@NotNull Map<UUID, PlayerStatisticsModel>> getOrCreatePlayerStats(@NotNull Set<? extends UUID> uuids, @NotNull Executor executor) {
         return CompletableFuture.supplyAsync(() -> {
             try (Session session = sessionFactory.openSession()) {
-                PlayerStatisticsModel playerStats = session.get(PlayerStatisticsModel.class, uuid);
-
-                if (playerStats == null) {
-                    playerStats = new PlayerStatisticsModel(uuid);
-                    this.save(playerStats).thenAccept(resultType -> {
-                        if (resultType != ResultType.ERROR) return;
-                        PlayLegendQuest.getLog().severe("Failed to save PlayerStatisticsModel for UUID: " + uuid);
-                    });
-                }
+                Map<UUID, PlayerStatisticsModel> playerStats = new HashMap<>();
+                session.createQuery("FROM PlayerStatisticsModel WHERE uuid IN :uuids", PlayerStatisticsModel.class)
+                        .setParameterList("uuids", uuids)
+                        .list()
+                        .forEach(playerStatisticsModel -> playerStats.put(playerStatisticsModel.getUuid(), playerStatisticsModel));
 
+                uuids.forEach(uuid -> playerStats.computeIfAbsent(uuid, PlayerStatisticsModel::new));
                 return playerStats;
             } catch (Exception e) {
-                PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to find or create PlayerStatisticsModel: " + e.getMessage(), e);
-                return null;
+                throw new IllegalStateException("Failed to find or create PlayerStatisticsModels", e);
             }
         }, executor);
     }
 
+    /**
+     * Adds the coins to the balance of the player in its own transaction and updates the cached statistics.
+     *
+     * @param uuid  The UUID of the player.
+     * @param coins The amount of coins to add.
+     * @return The result of the operation.
+     */
+    public @NotNull CompletableFuture<@NotNull ResultType> addCoins(@NotNull UUID uuid, @Nonnegative long coins) {
+        return CompletableFuture.supplyAsync(() -> {
+            CoinBalance balance;
+            Transaction transaction = null;
+            try (Session session = sessionFactory.openSession()) {
+                transaction = session.beginTransaction();
+                balance = session.doReturningWork(connection -> addCoins(connection, uuid, coins));
+                transaction.commit();
+            } catch (Exception e) {
+                if (transaction != null) transaction.rollback();
+                PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to add coins: " + e.getMessage(), e);
+                return ResultType.ERROR;
+            }
+
+            applyCachedBalance(uuid, balance);
+            return ResultType.SUCCESS;
+        }, this.databaseExecutor);
+    }
+
+    /**
+     * Adds the coins to the balance of the player on the given connection and reads the new balance back. The row is created if it does not exist yet. The database adds the coins to the stored balance, so concurrent grants, even from other servers, are never lost. The caller is responsible for the transaction and has to call {@link #applyCachedBalance(UUID, CoinBalance)} after the commit.
+     *
+     * @param connection The connection to use.
+     * @param uuid       The UUID of the player.
+     * @param coins      The amount of coins to add.
+     * @return The new balance of the player.
+     * @throws SQLException If the upsert fails.
+     */
+    public @NotNull CoinBalance addCoins(@NotNull Connection connection, @NotNull UUID uuid, @Nonnegative long coins) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(ADD_COINS)) {
+            statement.setString(1, uuid.toString());
+            statement.setLong(2, coins);
+            statement.executeUpdate();
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_COINS)) {
+            statement.setString(1, uuid.toString());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) throw new SQLException("No player_stats row for " + uuid + " after the upsert");
+                return new CoinBalance(resultSet.getLong(1), resultSet.getLong(2));
+            }
+        }
+    }
+
+    /**
+     * Sets the balance of the cached player statistics, if they are loaded. Statistics that are not loaded yet will be read from the database anyway.
+     *
+     * @param uuid    The UUID of the player.
+     * @param balance The balance read from the database.
+     */
+    public void applyCachedBalance(@NotNull UUID uuid, @NotNull CoinBalance balance) {
+        CompletableFuture<PlayerStatisticsModel> future = this.cache.getIfPresent(uuid);
+        if (future == null) return;
+
+        future.thenAccept(playerStatisticsModel -> {
+            if (playerStatisticsModel != null) playerStatisticsModel.updateCoins(balance);
+        });
+    }
+
     /**
      * Retrieves the player statistics from the cache. If the player statistics are not in the cache, it will be loaded from the database.
      *
      * @param uuid The UUID of the player.
-     * @return The player statistics model. Or null if an error occurred.
+     * @return The player statistics model. Completes exceptionally if they could not be loaded.
      */
     public @NotNull CompletableFuture<@Nullable PlayerStatisticsModel> getPlayerStats(@NotNull UUID uuid) {
         return this.cache.get(uuid);
     }
+
+    /**
+     * Retrieves the player statistics of the given players from the cache. The statistics, that are not in the cache, are loaded from the database with one query.
+     *
+     * @param uuids The UUIDs of the players.
+     * @return The player statistics models by the UUID of their player.
+     */
+    public @NotNull CompletableFuture<@NotNull Map<UUID, PlayerStatisticsModel>> getAllPlayerStats(@NotNull Collection<UUID> uuids) {
+        return this.cache.getAll(uuids);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,196 @@
+package io.github.rysefoxx.user;
+
+import io.github.rysefoxx.PlayLegendQuest;
+import io.github.rysefoxx.util.LogUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Deletes quests, that expired a while ago, together with their progress. These are mostly quests of players, that have not been online since. Quests that expired within the grace period are left to the {@link QuestExpirationQueue}, so online players are still notified.
+ * <br>
+ * The rows are deleted in chunks, each chunk in its own transaction with a pause before the next one, so the job never holds many locks or blocks the database executor for long.
+ *
+ * @author Rysefoxx
+ * @since 17.10.2026
+ */
+public class ExpiredQuestCleanupTask {
+
+    private static final String SELECT_EXPIRED = "SELECT id, uuid, quest_name FROM quest_user WHERE expiration < ? ORDER BY expiration LIMIT ?";
+    private static final String DELETE_PROGRESS = "DELETE FROM quest_user_progress WHERE uuid = ? AND quest_name = ?";
+    private static final String DELETE_USER = "DELETE FROM quest_user WHERE id = ?";
+
+    private final SessionFactory sessionFactory;
+    private final Executor databaseExecutor;
+    private final Consumer<UUID> onDeleted;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final long interval;
+    private final int chunkSize;
+    private final long pause;
+    private final long gracePeriod;
+
+    /**
+     * Creates a new cleanup task with the settings from the cleanup section of the database.yml.
+     *
+     * @param config           The database config.
+     * @param sessionFactory   The session factory to use.
+     * @param databaseExecutor The executor to run the chunks on.
+     * @param onDeleted        Called with the uuid of every player whose quest was deleted.
+     */
+    public ExpiredQuestCleanupTask(@NotNull YamlConfiguration config, @NotNull SessionFactory sessionFactory, @NotNull Executor databaseExecutor, @NotNull Consumer<UUID> onDeleted) {
+        this.sessionFactory = sessionFactory;
+        this.databaseExecutor = databaseExecutor;
+        this.onDeleted = onDeleted;
+        this.interval = Math.max(1, config.getLong("cleanup.interval", 30));
+        this.chunkSize = Math.max(1, config.getInt("cleanup.chunk-size", 1000));
+        this.pause = Math.max(0, config.getLong("cleanup.pause", 250));
+        this.gracePeriod = Math.max(0, config.getLong("cleanup.grace-period", 300));
+    }
+
+    /**
+     * Starts the task. It runs once right away and then periodically.
+     *
+     * @param plugin The plugin instance.
+     */
+    public void start(@NotNull PlayLegendQuest plugin) {
+        if (PlayLegendQuest.isUnitTest()) return;
+
+        Bukkit.getAsyncScheduler().runAtFixedRate(plugin, scheduledTask -> run(), 0, this.interval, TimeUnit.MINUTES);
+    }
+
+    /**
+     * @return The time before which expired quests are deleted by this task.
+     */
+    public @NotNull LocalDateTime getCutoff() {
+        return LocalDateTime.now().minusSeconds(this.gracePeriod);
+    }
+
+    /**
+     * Deletes the expired quests chunk by chunk. A run is skipped, if the previous run has not finished yet.
+     */
+    private void run() {
+        if (!this.running.compareAndSet(false, true)) return;
+
+        Timestamp cutoff = Timestamp.valueOf(getCutoff());
+        runChunk(cutoff, new long[2], System.currentTimeMillis());
+    }
+
+    /**
+     * Deletes one chunk. If the chunk was full, the next chunk is deleted after the pause.
+     *
+     * @param cutoff  The time before which expired quests are deleted.
+     * @param deleted The number of deleted quests and progress rows of this run.
+     * @param started The start of this run in epoch milliseconds.
+     */
+    private void runChunk(@NotNull Timestamp cutoff, long @NotNull [] deleted, long started) {
+        CompletableFuture.supplyAsync(() -> deleteChunk(cutoff, deleted), this.databaseExecutor)
+                .thenAccept(deletedQuests -> {
+                    if (deletedQuests == this.chunkSize) {
+                        Executor delayedExecutor = CompletableFuture.delayedExecutor(this.pause, TimeUnit.MILLISECONDS, this.databaseExecutor);
+                        delayedExecutor.execute(() -> runChunk(cutoff, deleted, started));
+                        return;
+                    }
+
+                    this.running.set(false);
+                    if (deleted[0] == 0) return;
+                    PlayLegendQuest.getLog().info("Removed " + deleted[0] + " expired quests and " + deleted[1] + " progress rows in " + (System.currentTimeMillis() - started) + "ms");
+                })
+                .exceptionally(throwable -> {
+                    this.running.set(false);
+                    return LogUtils.handleError(null, "Failed to remove expired quests", throwable);
+                });
+    }
+
+    /**
+     * Deletes up to one chunk of expired quests and their progress in one transaction.
+     *
+     * @param cutoff  The time before which expired quests are deleted.
+     * @param deleted The number of deleted quests and progress rows of this run, increased by this chunk.
+     * @return The number of deleted quests.
+     */
+    private int deleteChunk(@NotNull Timestamp cutoff, long @NotNull [] deleted) {
+        List<UUID> uuids = new ArrayList<>();
+        Transaction transaction = null;
+        try (Session session = sessionFactory.openSession()) {
+            transaction = session.beginTransaction();
+            int deletedProgress = session.doReturningWork(connection -> deleteExpired(connection, cutoff, uuids));
+            transaction.commit();
+
+            deleted[0] += uuids.size();
+            deleted[1] += deletedProgress;
+        } catch (Exception e) {
+            if (transaction != null) transaction.rollback();
+            PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to remove expired quests: " + e.getMessage(), e);
+            return 0;
+        }
+
+        uuids.forEach(this.onDeleted);
+        return uuids.size();
+    }
+
+    /**
+     * Selects a chunk of expired quests, ordered by the expiration index, and deletes them together with their progress.
+     *
+     * @param connection The connection to use.
+     * @param cutoff     The time before which expired quests are deleted.
+     * @param uuids      Receives the uuids of the players whose quest was deleted.
+     * @return The number of deleted progress rows.
+     * @throws SQLException If a statement fails.
+     */
+    private int deleteExpired(@NotNull Connection connection, @NotNull Timestamp cutoff, @NotNull List<UUID> uuids) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        List<String> questNames = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_EXPIRED)) {
+            statement.setTimestamp(1, cutoff);
+            statement.setInt(2, this.chunkSize);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    ids.add(resultSet.getLong(1));
+                    uuids.add(UUID.fromString(resultSet.getString(2)));
+                    questNames.add(resultSet.getString(3));
+                }
+            }
+        }
+        if (ids.isEmpty()) return 0;
+
+        int deletedProgress = 0;
+        try (PreparedStatement statement = connection.prepareStatement(DELETE_PROGRESS)) {
+            for (int i = 0; i < ids.size(); i++) {
+                statement.setString(1, uuids.get(i).toString());
+                statement.setString(2, questNames.get(i));
+                statement.addBatch();
+            }
+            for (int count : statement.executeBatch()) {
+                if (count > 0) deletedProgress += count;
+            }
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(DELETE_USER)) {
+            for (Long id : ids) {
+                statement.setLong(1, id);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        return deletedProgress;
+    }
+}
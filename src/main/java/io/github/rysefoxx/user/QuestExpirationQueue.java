@@ -0,0 +1,81 @@
+package io.github.rysefoxx.user;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.function.BiConsumer;
+
+/**
+ * Orders the active quests by their expiration, so only the quests that are actually due have to be looked at.
+ * <br>
+ * A player has at most one active quest. Rescheduling or unscheduling a player does not search the queue, the old entry is left in the queue and skipped once it is due.
+ *
+ * @author Rysefoxx
+ * @since 17.10.2026
+ */
+public class QuestExpirationQueue {
+
+    private final PriorityBlockingQueue<Entry> queue = new PriorityBlockingQueue<>(64, (first, second) -> Long.compare(first.expiration(), second.expiration()));
+    private final Map<UUID, Entry> scheduled = new ConcurrentHashMap<>();
+
+    /**
+     * Schedules the expiration of the active quest of the player. A previously scheduled quest of the player is replaced.
+     *
+     * @param uuid       The uuid of the player.
+     * @param questName  The name of the quest.
+     * @param expiration The expiration of the quest.
+     */
+    public void schedule(@NotNull UUID uuid, @NotNull String questName, @NotNull LocalDateTime expiration) {
+        Entry entry = new Entry(uuid, questName, expiration.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        this.scheduled.put(uuid, entry);
+        this.queue.add(entry);
+    }
+
+    /**
+     * Removes the scheduled expiration of the player, for example because the quest was completed or canceled.
+     *
+     * @param uuid The uuid of the player.
+     */
+    public void unschedule(@NotNull UUID uuid) {
+        this.scheduled.remove(uuid);
+    }
+
+    /**
+     * Removes all quests, that are due at the given time, and passes them to the consumer.
+     *
+     * @param now      The current time in epoch milliseconds.
+     * @param consumer The consumer receiving the uuid of the player and the name of the expired quest.
+     */
+    public void pollDue(long now, @NotNull BiConsumer<UUID, String> consumer) {
+        Entry head;
+        while ((head = this.queue.peek()) != null && head.expiration() <= now) {
+            // An entry added in the meantime can only be polled first if it expires even earlier, so it is due as well.
+            Entry entry = this.queue.poll();
+            if (entry == null || !this.scheduled.remove(entry.uuid(), entry)) continue;
+
+            consumer.accept(entry.uuid(), entry.questName());
+        }
+    }
+
+    /**
+     * @return The number of scheduled quests.
+     */
+    public int size() {
+        return this.scheduled.size();
+    }
+
+    /**
+     * A scheduled expiration.
+     *
+     * @param uuid       The uuid of the player.
+     * @param questName  The name of the quest.
+     * @param expiration The expiration in epoch milliseconds.
+     */
+    private record Entry(@NotNull UUID uuid, @NotNull String questName, long expiration) {
+    }
+}
@@ -1,17 +1,24 @@
 package io.github.rysefoxx.user;
 
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
 import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import io.github.rysefoxx.PlayLegendQuest;
 import io.github.rysefoxx.database.ConnectionService;
 import io.github.rysefoxx.database.IDatabaseOperation;
+import io.github.rysefoxx.enums.QuestAcceptResult;
 import io.github.rysefoxx.enums.ResultType;
 import io.github.rysefoxx.language.LanguageService;
+import io.github.rysefoxx.progress.ActiveQuestState;
+import io.github.rysefoxx.progress.ActiveQuestStateStore;
 import io.github.rysefoxx.progress.QuestUserProgressModel;
 import io.github.rysefoxx.progress.QuestUserProgressService;
+import io.github.rysefoxx.quest.AbstractQuestRequirement;
+import io.github.rysefoxx.quest.QuestDefinition;
 import io.github.rysefoxx.quest.QuestModel;
-import io.github.rysefoxx.quest.QuestService;
 import io.github.rysefoxx.scoreboard.ScoreboardService;
+import io.github.rysefoxx.stats.CoinBalance;
+import io.github.rysefoxx.stats.PlayerStatisticsService;
 import io.github.rysefoxx.util.LogUtils;
 import lombok.Getter;
 import org.bukkit.Bukkit;
@@ -22,7 +29,21 @@ import org.hibernate.Transaction;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -35,31 +56,62 @@ import java.util.logging.Level;
  */
 public class QuestUserService implements IDatabaseOperation<QuestUserModel, Long> {
 
+    private static final String SELECT_ELIGIBILITY = "SELECT EXISTS(SELECT 1 FROM quest_user WHERE uuid = ?), EXISTS(SELECT 1 FROM quest_user_progress WHERE uuid = ? AND quest_name = ? AND completed = true)";
+    private static final String INSERT_USER = "INSERT INTO quest_user (uuid, quest_name, expiration) VALUES (?, ?, ?)";
+    private static final String INSERT_PROGRESS = "INSERT INTO quest_user_progress (uuid, quest_name, requirement_id, progress, completed) VALUES (?, ?, ?, 0, false)";
+    private static final String DELETE_USER = "DELETE FROM quest_user WHERE uuid = ? AND quest_name = ?";
+    private static final String DELETE_PROGRESS = "DELETE FROM quest_user_progress WHERE uuid = ? AND quest_name = ?";
+    private static final String SELECT_EXPIRATIONS = "SELECT uuid, quest_name, expiration FROM quest_user WHERE expiration >= ?";
+    /**
+     * The number of attempts to complete a quest, before the completion is given up.
+     */
+    private static final int COMPLETE_ATTEMPTS = 5;
+    /**
+     * The seconds after which an expiration, that could not be written, is tried again.
+     */
+    private static final int EXPIRATION_RETRY_SECONDS = 30;
+
+    private final PlayLegendQuest plugin;
     private final SessionFactory sessionFactory;
+    private final Executor databaseExecutor;
+    /**
+     * Players without an active quest are cached as empty, so they are not searched again.
+     */
     @Getter
-    private final AsyncLoadingCache<Long, QuestUserModel> cache;
+    private final AsyncLoadingCache<UUID, Optional<QuestUserModel>> cache;
     private final QuestUserProgressService questUserProgressService;
+    private final ActiveQuestStateStore activeQuestStateStore;
     private final LanguageService languageService;
     private final ScoreboardService scoreboardService;
-    private final QuestService questService;
+    private final PlayerStatisticsService playerStatisticsService;
+    private final QuestExpirationQueue expirationQueue = new QuestExpirationQueue();
+    private final ExpiredQuestCleanupTask cleanupTask;
 
     /**
-     * Creates a new service instance and defines the AsyncCache, which stores data temporarily and deletes it 15 minutes after the last access. An asynchronous scheduler is also started, which checks whether the quest has expired.
+     * Creates a new service instance and defines the AsyncCache, which stores the active quest of a player by his uuid while he is online, see {@link io.github.rysefoxx.database.PlayerCachePolicy}. An asynchronous scheduler is also started, which expires the quests that are due, and a task, which deletes the quests that expired long ago.
      */
     public QuestUserService(@NotNull PlayLegendQuest plugin,
                             @NotNull QuestUserProgressService questUserProgressService,
+                            @NotNull ActiveQuestStateStore activeQuestStateStore,
                             @NotNull LanguageService languageService,
                             @NotNull ScoreboardService scoreboardService,
-                            @NotNull QuestService questService) {
+                            @NotNull PlayerStatisticsService playerStatisticsService) {
+        this.plugin = plugin;
         this.questUserProgressService = questUserProgressService;
+        this.activeQuestStateStore = activeQuestStateStore;
         this.languageService = languageService;
         this.scoreboardService = scoreboardService;
-        this.questService = questService;
+        this.playerStatisticsService = playerStatisticsService;
         this.sessionFactory = ConnectionService.getSessionFactory();
-        this.cache = Caffeine.newBuilder()
-                .expireAfterAccess(15, TimeUnit.MINUTES)
-                .buildAsync(this::getQuestUserModel);
+        this.databaseExecutor = ConnectionService.getExecutor();
+        this.cache = ConnectionService.getPlayerCachePolicy().register(Caffeine.newBuilder()
+                .executor(this.databaseExecutor)
+                .maximumSize(ConnectionService.getPlayerCachePolicy().getMaximumSize())
+                .expireAfter(ConnectionService.getPlayerCachePolicy().expiry())
+                .buildAsync(AsyncCacheLoader.<UUID, Optional<QuestUserModel>>bulk(this::getQuestUserModels)));
+        this.cleanupTask = new ExpiredQuestCleanupTask(plugin.getConnectionService().getConfig(), this.sessionFactory, this.databaseExecutor, this::evictQuest);
         expirationScheduler(plugin);
+        this.cleanupTask.start(plugin);
     }
 
     /**
@@ -80,30 +132,295 @@ public class QuestUserService implements IDatabaseOperation<QuestUserModel, Long
                     session.merge(toSave);
                 }
                 transaction.commit();
-                return ResultType.SUCCESS;
+                this.expirationQueue.schedule(toSave.getUuid(), toSave.getQuest().getName(), toSave.getExpiration());
+                return writeThrough(this.cache, toSave.getUuid(), Optional.of(toSave));
             } catch (Exception e) {
                 if (transaction != null) transaction.rollback();
                 PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to save QuestUserModel: " + e.getMessage(), e);
                 return ResultType.ERROR;
             }
-        }).thenCompose(result -> result == ResultType.SUCCESS ? refreshCache(toSave.getId()) : CompletableFuture.completedFuture(result));
+        }, this.databaseExecutor);
     }
 
     /**
-     * Refreshes the cache for the given identifier.
+     * Accepts the quest for the player. The user row and all progress rows are inserted in one transaction and put into the caches.
      *
-     * @param id The identifier of the quest user model.
+     * @param uuid       The uuid of the player.
+     * @param questModel The quest to accept.
      * @return The result of the operation.
      */
-    private @NotNull CompletableFuture<@NotNull ResultType> refreshCache(@NotNull Long id) {
-        return this.cache.synchronous().refresh(id)
-                .thenApply(v -> ResultType.SUCCESS)
-                .exceptionally(throwable -> {
-                    LogUtils.handleError(null, "Failed to refresh QuestUserModel cache", throwable);
-                    return ResultType.ERROR;
+    public @NotNull CompletableFuture<@NotNull QuestAcceptResult> acceptQuest(@NotNull UUID uuid, @NotNull QuestModel questModel) {
+        return CompletableFuture.supplyAsync(() -> {
+            QuestUserModel questUserModel = new QuestUserModel(uuid, questModel);
+            List<QuestUserProgressModel> questUserProgressModels = new ArrayList<>();
+            for (AbstractQuestRequirement requirement : questModel.getRequirements()) {
+                questUserProgressModels.add(new QuestUserProgressModel(uuid, questModel, requirement));
+            }
+
+            Transaction transaction = null;
+            try (Session session = sessionFactory.openSession()) {
+                transaction = session.beginTransaction();
+
+                QuestAcceptResult result = session.doReturningWork(connection -> {
+                    QuestAcceptResult eligibility = checkEligibility(connection, uuid, questModel.getName());
+                    if (eligibility != QuestAcceptResult.SUCCESS) return eligibility;
+
+                    try {
+                        insertUser(connection, questUserModel);
+                    } catch (SQLIntegrityConstraintViolationException e) {
+                        return QuestAcceptResult.ALREADY_ACTIVE;
+                    }
+                    insertProgress(connection, questUserProgressModels);
+                    return QuestAcceptResult.SUCCESS;
+                });
+
+                if (result != QuestAcceptResult.SUCCESS) {
+                    transaction.rollback();
+                    return result;
+                }
+
+                transaction.commit();
+            } catch (Exception e) {
+                if (transaction != null) transaction.rollback();
+                PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to accept quest: " + e.getMessage(), e);
+                return QuestAcceptResult.ERROR;
+            }
+
+            this.cache.put(uuid, CompletableFuture.completedFuture(Optional.of(questUserModel)));
+            this.expirationQueue.schedule(uuid, questModel.getName(), questUserModel.getExpiration());
+            questUserProgressService.getCache().put(uuid, CompletableFuture.completedFuture(questUserProgressModels));
+            return QuestAcceptResult.SUCCESS;
+        }, this.databaseExecutor);
+    }
+
+    /**
+     * Checks if the player can accept the quest. A player can only have one active quest and can not accept a quest twice.
+     *
+     * @param connection The connection to use.
+     * @param uuid       The uuid of the player.
+     * @param questName  The name of the quest.
+     * @return {@link QuestAcceptResult#SUCCESS} if the player can accept the quest.
+     * @throws SQLException If the query fails.
+     */
+    private @NotNull QuestAcceptResult checkEligibility(@NotNull Connection connection, @NotNull UUID uuid, @NotNull String questName) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_ELIGIBILITY)) {
+            statement.setString(1, uuid.toString());
+            statement.setString(2, uuid.toString());
+            statement.setString(3, questName);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) return QuestAcceptResult.ERROR;
+                if (resultSet.getBoolean(1)) return QuestAcceptResult.ALREADY_ACTIVE;
+                if (resultSet.getBoolean(2)) return QuestAcceptResult.ALREADY_COMPLETED;
+                return QuestAcceptResult.SUCCESS;
+            }
+        }
+    }
+
+    /**
+     * Inserts the user row and sets its generated id.
+     *
+     * @param connection     The connection to use.
+     * @param questUserModel The user row to insert.
+     * @throws SQLIntegrityConstraintViolationException If the player already has an active quest.
+     * @throws SQLException                              If the insert fails.
+     */
+    private void insertUser(@NotNull Connection connection, @NotNull QuestUserModel questUserModel) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_USER, Statement.RETURN_GENERATED_KEYS)) {
+            statement.setString(1, questUserModel.getUuid().toString());
+            statement.setString(2, questUserModel.getQuest().getName());
+            statement.setTimestamp(3, Timestamp.valueOf(questUserModel.getExpiration()));
+            statement.executeUpdate();
+
+            try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                if (generatedKeys.next()) questUserModel.setId(generatedKeys.getLong(1));
+            }
+        }
+    }
+
+    /**
+     * Inserts the progress rows one by one and sets their generated ids. A batch does not return the ids with bulk statements enabled.
+     *
+     * @param connection              The connection to use.
+     * @param questUserProgressModels The progress rows to insert.
+     * @throws SQLException If the insert fails.
+     */
+    private void insertProgress(@NotNull Connection connection, @NotNull List<QuestUserProgressModel> questUserProgressModels) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_PROGRESS, Statement.RETURN_GENERATED_KEYS)) {
+            for (QuestUserProgressModel questUserProgressModel : questUserProgressModels) {
+                statement.setString(1, questUserProgressModel.getUuid().toString());
+                statement.setString(2, questUserProgressModel.getQuest().getName());
+                statement.setLong(3, questUserProgressModel.getRequirement().getId());
+                statement.executeUpdate();
+
+                try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                    if (!generatedKeys.next()) throw new SQLException("No id generated for the progress of requirement " + questUserProgressModel.getRequirement().getId());
+                    questUserProgressModel.setId(generatedKeys.getLong(1));
+                }
+            }
+        }
+    }
+
+    /**
+     * Completes the quest for the player. The final progress, the deletion of the user row and the coin rewards are written in one transaction.
+     * <br>
+     * A failed transaction is retried up to {@link #COMPLETE_ATTEMPTS} times, afterwards the expiration of the quest is scheduled again.
+     *
+     * @param uuid                    The uuid of the player.
+     * @param questDefinition         The completed quest.
+     * @param questUserProgressModels The completed progress of the player.
+     * @return The result of the last attempt.
+     */
+    public @NotNull CompletableFuture<@NotNull ResultType> completeQuest(@NotNull UUID uuid, @NotNull QuestDefinition questDefinition, @NotNull List<QuestUserProgressModel> questUserProgressModels) {
+        questUserProgressService.discardDirty(uuid);
+        // The quest must not expire while it is completed, otherwise the completed progress would be deleted.
+        this.expirationQueue.unschedule(uuid);
+        return attemptCompleteQuest(uuid, questDefinition, questUserProgressModels, 1);
+    }
+
+    /**
+     * Runs one attempt to complete the quest. A failed attempt is retried after a delay, that grows with every attempt.
+     *
+     * @param uuid                    The uuid of the player.
+     * @param questDefinition         The completed quest.
+     * @param questUserProgressModels The completed progress of the player.
+     * @param attempt                 The number of this attempt, starting at 1.
+     * @return The result of the last attempt.
+     */
+    private @NotNull CompletableFuture<@NotNull ResultType> attemptCompleteQuest(@NotNull UUID uuid, @NotNull QuestDefinition questDefinition, @NotNull List<QuestUserProgressModel> questUserProgressModels, int attempt) {
+        return CompletableFuture.supplyAsync(() -> writeCompletion(uuid, questDefinition, questUserProgressModels, attempt), this.databaseExecutor)
+                .thenCompose(resultType -> {
+                    if (resultType != ResultType.ERROR) return CompletableFuture.completedFuture(resultType);
+                    if (attempt >= COMPLETE_ATTEMPTS) {
+                        rescheduleExpiration(uuid);
+                        return CompletableFuture.completedFuture(resultType);
+                    }
+
+                    Executor delayedExecutor = CompletableFuture.delayedExecutor(attempt * 2L, TimeUnit.SECONDS, this.databaseExecutor);
+                    return CompletableFuture.runAsync(() -> {
+                    }, delayedExecutor).thenCompose(unused -> attemptCompleteQuest(uuid, questDefinition, questUserProgressModels, attempt + 1));
                 });
     }
 
+    /**
+     * Writes the completion of the quest and updates the caches of the player once it is committed.
+     *
+     * @param uuid                    The uuid of the player.
+     * @param questDefinition         The completed quest.
+     * @param questUserProgressModels The completed progress of the player.
+     * @param attempt                 The number of this attempt, starting at 1.
+     * @return The result of the operation or {@link ResultType#NO_ROWS_AFFECTED} if the quest is no longer active.
+     */
+    private @NotNull ResultType writeCompletion(@NotNull UUID uuid, @NotNull QuestDefinition questDefinition, @NotNull List<QuestUserProgressModel> questUserProgressModels, int attempt) {
+        long coins = questDefinition.coinReward();
+        CoinBalance balance;
+        Transaction transaction = null;
+        try (Session session = sessionFactory.openSession()) {
+            transaction = session.beginTransaction();
+            boolean deleted = session.doReturningWork(connection -> deleteUser(connection, uuid, questDefinition.name()) > 0);
+            if (!deleted) {
+                transaction.rollback();
+                return ResultType.NO_ROWS_AFFECTED;
+            }
+
+            balance = session.doReturningWork(connection -> {
+                questUserProgressService.writeProgress(connection, questUserProgressModels);
+                return coins > 0 ? playerStatisticsService.addCoins(connection, uuid, coins) : null;
+            });
+            transaction.commit();
+        } catch (Exception e) {
+            if (transaction != null) transaction.rollback();
+            PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to complete quest (attempt " + attempt + "/" + COMPLETE_ATTEMPTS + "): " + e.getMessage(), e);
+            return ResultType.ERROR;
+        }
+
+        this.cache.put(uuid, CompletableFuture.completedFuture(Optional.empty()));
+        questUserProgressService.getCache().put(uuid, CompletableFuture.completedFuture(new ArrayList<>()));
+        if (balance != null) playerStatisticsService.applyCachedBalance(uuid, balance);
+        return ResultType.SUCCESS;
+    }
+
+    /**
+     * Schedules the expiration of the active quest of the player again, for example after the quest could not be completed.
+     *
+     * @param uuid The uuid of the player.
+     */
+    private void rescheduleExpiration(@NotNull UUID uuid) {
+        findByUuid(uuid)
+                .thenAccept(questUserModel -> {
+                    if (questUserModel == null) return;
+                    this.expirationQueue.schedule(uuid, questUserModel.getQuest().getName(), questUserModel.getExpiration());
+                })
+                .exceptionally(throwable -> LogUtils.handleError(null, "Failed to reschedule the expiration for " + uuid, throwable));
+    }
+
+    /**
+     * Cancels the quest of the player. The progress rows and the user row are deleted in one transaction.
+     * <br>
+     * The state and the caches of the player are only discarded once the deletes are committed.
+     *
+     * @param uuid      The uuid of the player.
+     * @param questName The name of the quest.
+     * @return The result of the operation.
+     */
+    public @NotNull CompletableFuture<@NotNull ResultType> cancelQuest(@NotNull UUID uuid, @NotNull String questName) {
+        ActiveQuestState activeQuestState = activeQuestStateStore.get(uuid);
+
+        return CompletableFuture.supplyAsync(() -> {
+            Transaction transaction = null;
+            try (Session session = sessionFactory.openSession()) {
+                transaction = session.beginTransaction();
+                int deleted = session.doReturningWork(connection -> deleteProgress(connection, uuid, questName) + deleteUser(connection, uuid, questName));
+                transaction.commit();
+
+                if (activeQuestState != null) activeQuestStateStore.remove(uuid, activeQuestState);
+                questUserProgressService.discardDirty(uuid);
+                this.cache.put(uuid, CompletableFuture.completedFuture(Optional.empty()));
+                this.expirationQueue.unschedule(uuid);
+                questUserProgressService.getCache().put(uuid, CompletableFuture.completedFuture(new ArrayList<>()));
+                return deleted == 0 ? ResultType.NO_ROWS_AFFECTED : ResultType.SUCCESS;
+            } catch (Exception e) {
+                if (transaction != null) transaction.rollback();
+                PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to cancel quest: " + e.getMessage(), e);
+                return ResultType.ERROR;
+            }
+        }, this.databaseExecutor);
+    }
+
+    /**
+     * Deletes the progress rows of the given quest.
+     *
+     * @param connection The connection to use.
+     * @param uuid       The uuid of the player.
+     * @param questName  The name of the quest.
+     * @return The number of deleted rows.
+     * @throws SQLException If the delete fails.
+     */
+    private int deleteProgress(@NotNull Connection connection, @NotNull UUID uuid, @NotNull String questName) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(DELETE_PROGRESS)) {
+            statement.setString(1, uuid.toString());
+            statement.setString(2, questName);
+            return statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Deletes the user row of the given quest.
+     *
+     * @param connection The connection to use.
+     * @param uuid       The uuid of the player.
+     * @param questName  The name of the quest.
+     * @return The number of deleted rows.
+     * @throws SQLException If the delete fails.
+     */
+    private int deleteUser(@NotNull Connection connection, @NotNull UUID uuid, @NotNull String questName) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(DELETE_USER)) {
+            statement.setString(1, uuid.toString());
+            statement.setString(2, questName);
+            return statement.executeUpdate();
+        }
+    }
+
     /**
      * Deletes the object from the database by the given identifier.
      *
@@ -122,14 +439,14 @@ public class QuestUserService implements IDatabaseOperation<QuestUserModel, Long
 
                 session.remove(questUserModel);
                 transaction.commit();
-                cache.synchronous().invalidate(toDelete);
+                cache.synchronous().invalidate(questUserModel.getUuid());
                 return ResultType.SUCCESS;
             } catch (Exception e) {
                 if (transaction != null) transaction.rollback();
                 PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to delete QuestUserModel: " + e.getMessage(), e);
                 return ResultType.ERROR;
             }
-        });
+        }, this.databaseExecutor);
     }
 
     /**
@@ -146,92 +463,144 @@ public class QuestUserService implements IDatabaseOperation<QuestUserModel, Long
 
                 QuestUserModel questUserModel = session.createQuery("FROM QuestUserModel WHERE uuid = :uuid", QuestUserModel.class)
                         .setParameter("uuid", uuid)
+                        .setMaxResults(1)
                         .uniqueResult();
+                if (questUserModel == null) return ResultType.NO_ROWS_AFFECTED;
 
-                questUserModel.getQuest().getUserQuests().remove(questUserModel);
                 session.remove(questUserModel);
 
                 transaction.commit();
-                cache.synchronous().invalidate(questUserModel.getId());
+                cache.synchronous().invalidate(uuid);
                 return ResultType.SUCCESS;
             } catch (Exception e) {
                 if (transaction != null) transaction.rollback();
                 PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to delete QuestUserModel: " + e.getMessage(), e);
                 return ResultType.ERROR;
             }
-        });
+        }, this.databaseExecutor);
     }
 
     /**
-     * Searches for a QuestUserModel by the given id.
+     * Searches for the active QuestUserModels of the given players with one query. Players without an active quest are contained as empty.
      *
-     * @param id The id to search for.
-     * @return The QuestUserModel or null if the search failed.
+     * @param uuids    The uuids of the players.
+     * @param executor The executor to run the operation on.
+     * @return The QuestUserModels by the uuid of their player. Completes exceptionally if the search failed, so nothing is cached.
      */
-    private @NotNull CompletableFuture<@Nullable QuestUserModel> getQuestUserModel(@NotNull Long id, @NotNull Executor executor) {
+    private @NotNull CompletableFuture<@NotNull Map<UUID, Optional<QuestUserModel>>> getQuestUserModels(@NotNull Set<? extends UUID> uuids, @NotNull Executor executor) {
         return CompletableFuture.supplyAsync(() -> {
+            Map<UUID, Optional<QuestUserModel>> questUserModels = new HashMap<>();
             try (Session session = sessionFactory.openSession()) {
-                return session.get(QuestUserModel.class, id);
+                session.createQuery("FROM QuestUserModel WHERE uuid IN :uuids", QuestUserModel.class)
+                        .setParameterList("uuids", uuids)
+                        .list()
+                        .forEach(questUserModel -> questUserModels.putIfAbsent(questUserModel.getUuid(), Optional.of(questUserModel)));
             } catch (Exception e) {
-                PlayLegendQuest.getLog().log(Level.SEVERE, "Failed to get QuestUserModel: " + e.getMessage(), e);
-                return null;
+                throw new IllegalStateException("Failed to get QuestUserModels", e);
             }
+
+            uuids.forEach(uuid -> questUserModels.putIfAbsent(uuid, Optional.empty()));
+            return questUserModels;
         }, executor);
     }
 
     /**
-     * Starts the asynchronous scheduler, which checks every second whether the quest has expired. If the quest has expired, it will be deleted from the database.
+     * Finds the active QuestUserModel of the given player in the cache. If the model is not in the cache, it will be loaded from the database.
      *
-     * @param plugin The plugin instance.
+     * @param uuid The uuid of the player.
+     * @return The QuestUserModel or null if the player has no active quest.
      */
-    private void expirationScheduler(@NotNull PlayLegendQuest plugin) {
-        if (PlayLegendQuest.isUnitTest()) return;
-
-        Bukkit.getAsyncScheduler().runAtFixedRate(plugin, scheduledTask -> cache.synchronous().asMap().forEach(this::handleQuestExpiration), 0, 1, TimeUnit.SECONDS);
+    public @NotNull CompletableFuture<@Nullable QuestUserModel> findByUuid(@NotNull UUID uuid) {
+        return this.cache.get(uuid).thenApply(questUserModel -> questUserModel.orElse(null));
     }
 
     /**
-     * Checks whether the quest has expired. If the quest has expired, it will be deleted from the database.
+     * Finds the active QuestUserModels of the given players in the cache. The models, that are not in the cache, are loaded from the database with one query.
      *
-     * @param id             The id of the quest.
-     * @param questUserModel The quest user model.
+     * @param uuids The uuids of the players.
+     * @return The QuestUserModels by the uuid of their player. Players without an active quest are not contained.
      */
-    private void handleQuestExpiration(@NotNull Long id, @NotNull QuestUserModel questUserModel) {
-        if (questUserModel.getExpiration().isAfter(LocalDateTime.now())) return;
-
-        Player player = Bukkit.getPlayer(questUserModel.getUuid());
-        questUserProgressService.findByUuid(questUserModel.getUuid())
-                .thenCompose(questUserProgressModels -> {
-                    if (questUserProgressModels == null || questUserProgressModels.isEmpty())
-                        return CompletableFuture.completedFuture(null);
+    public @NotNull CompletableFuture<@NotNull Map<UUID, QuestUserModel>> findAllByUuid(@NotNull Collection<UUID> uuids) {
+        return this.cache.getAll(uuids).thenApply(questUserModels -> {
+            Map<UUID, QuestUserModel> activeQuestUserModels = new HashMap<>();
+            questUserModels.forEach((uuid, questUserModel) -> questUserModel.ifPresent(model -> activeQuestUserModels.put(uuid, model)));
+            return activeQuestUserModels;
+        });
+    }
 
-                    QuestUserProgressModel questUserProgressModel = questUserProgressModels.get(0);
-                    QuestModel quest = questUserProgressModel.getQuest();
+    /**
+     * Loads the active quests once and starts the asynchronous scheduler, which expires the due quests every second. Quests older than the grace period of the cleanup task are left to that task.
+     *
+     * @param plugin The plugin instance.
+     */
+    private void expirationScheduler(@NotNull PlayLegendQuest plugin) {
+        if (PlayLegendQuest.isUnitTest()) return;
 
-                    if (quest == null) return CompletableFuture.completedFuture(null);
+        CompletableFuture.runAsync(this::loadExpirations, this.databaseExecutor)
+                .exceptionally(throwable -> LogUtils.handleError(null, "Failed to load quest expirations", throwable));
+        Bukkit.getAsyncScheduler().runAtFixedRate(plugin, scheduledTask -> this.expirationQueue.pollDue(System.currentTimeMillis(), this::handleQuestExpiration), 1, 1, TimeUnit.SECONDS);
+    }
 
-                    quest.removeUserProgress(questUserProgressModel);
-                    quest.getUserQuests().removeIf(userModel -> userModel.getUuid().equals(questUserModel.getUuid()));
+    /**
+     * Schedules the expiration of all active quests stored in the database, that are not deleted by the cleanup task.
+     */
+    private void loadExpirations() {
+        try (Session session = sessionFactory.openSession()) {
+            session.doWork(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(SELECT_EXPIRATIONS)) {
+                    statement.setTimestamp(1, Timestamp.valueOf(this.cleanupTask.getCutoff()));
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            this.expirationQueue.schedule(UUID.fromString(resultSet.getString(1)), resultSet.getString(2), resultSet.getTimestamp(3).toLocalDateTime());
+                        }
+                    }
+                }
+            });
+            PlayLegendQuest.getLog().info("Scheduled " + this.expirationQueue.size() + " quest expirations");
+        }
+    }
 
-                    cache.synchronous().invalidate(id);
+    /**
+     * Removes the active quest of the player from memory, after its rows were deleted by the cleanup task or together with the quest.
+     *
+     * @param uuid The uuid of the player.
+     */
+    public void evictQuest(@NotNull UUID uuid) {
+        questUserProgressService.discardDirty(uuid);
+        activeQuestStateStore.remove(uuid);
+        this.expirationQueue.unschedule(uuid);
+        this.cache.synchronous().invalidate(uuid);
+        questUserProgressService.getCache().synchronous().invalidate(uuid);
+    }
 
-                    return questUserProgressService.deleteQuest(questUserModel.getUuid(), quest.getName())
-                            .thenCompose(progressResultType -> questService.getCache().synchronous().refresh(quest.getName())
-                                    .thenAccept(unused -> notifyPlayerOnExpiration(player, progressResultType)));
+    /**
+     * Expires the quest of the player by canceling it. A failed cancel is scheduled again after {@link #EXPIRATION_RETRY_SECONDS}.
+     *
+     * @param uuid      The uuid of the player.
+     * @param questName The name of the expired quest.
+     */
+    private void handleQuestExpiration(@NotNull UUID uuid, @NotNull String questName) {
+        cancelQuest(uuid, questName)
+                .thenAccept(progressResultType -> {
+                    if (progressResultType == ResultType.ERROR) {
+                        this.expirationQueue.schedule(uuid, questName, LocalDateTime.now().plusSeconds(EXPIRATION_RETRY_SECONDS));
+                        return;
+                    }
+                    if (progressResultType == ResultType.SUCCESS) Bukkit.getScheduler().runTask(this.plugin, () -> notifyPlayerOnExpiration(uuid));
                 })
-                .exceptionally(throwable -> LogUtils.handleError(player, "Error while finding user progress", throwable));
+                .exceptionally(throwable -> LogUtils.handleError(null, "Error while expiring quest", throwable));
     }
 
     /**
-     * Notifies the player that the quest has expired.
+     * Notifies the player that the quest has expired, if he is online. Must be called on the main thread.
      *
-     * @param player             The player to notify.
-     * @param progressResultType The result of the operation.
+     * @param uuid The uuid of the player.
      */
-    private void notifyPlayerOnExpiration(@Nullable Player player, @NotNull ResultType progressResultType) {
+    private void notifyPlayerOnExpiration(@NotNull UUID uuid) {
+        Player player = Bukkit.getPlayer(uuid);
         if (player == null) return;
 
         scoreboardService.update(player);
-        languageService.sendTranslatedMessage(player, "quest_expired_" + progressResultType.toString().toLowerCase());
+        languageService.sendTranslatedMessage(player, "quest_expired_success");
     }
 }
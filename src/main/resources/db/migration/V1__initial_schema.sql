@@ -1,13 +1,10 @@
-CREATE DATABASE IF NOT EXISTS legend;
-USE legend;
-
-CREATE TABLE IF NOT EXISTS legend.player_stats
+CREATE TABLE IF NOT EXISTS player_stats
 (
     uuid  VARCHAR(36) PRIMARY KEY NOT NULL,
     coins BIGINT                  NOT NULL
 );
 
-CREATE TABLE IF NOT EXISTS legend.quest_model
+CREATE TABLE IF NOT EXISTS quest_model
 (
     name         VARCHAR(40) PRIMARY KEY NOT NULL,
     display_name VARCHAR(255)            NOT NULL,
@@ -16,14 +13,14 @@ CREATE TABLE IF NOT EXISTS legend.quest_model
     duration     BIGINT
 );
 
-CREATE TABLE IF NOT EXISTS legend.quest_reward
+CREATE TABLE IF NOT EXISTS quest_reward
 (
     id                BIGINT AUTO_INCREMENT PRIMARY KEY NOT NULL,
     quest_reward_type VARCHAR(50)                       NOT NULL,
     reward            TEXT
 );
 
-CREATE TABLE IF NOT EXISTS legend.quest_requirement
+CREATE TABLE IF NOT EXISTS quest_requirement
 (
     id                     BIGINT AUTO_INCREMENT PRIMARY KEY NOT NULL,
     quest_requirement_type VARCHAR(50)                       NOT NULL,
@@ -34,16 +31,16 @@ CREATE TABLE IF NOT EXISTS legend.quest_requirement
     FOREIGN KEY (quest_name) REFERENCES quest_model (name) ON DELETE CASCADE
 );
 
-CREATE TABLE IF NOT EXISTS legend.quest_reward_relation
+CREATE TABLE IF NOT EXISTS quest_reward_relation
 (
     quest_name VARCHAR(40) NOT NULL,
     reward_id  BIGINT      NOT NULL,
     PRIMARY KEY (quest_name, reward_id),
-    FOREIGN KEY (quest_name) REFERENCES legend.quest_model (name) ON DELETE CASCADE,
-    FOREIGN KEY (reward_id) REFERENCES legend.quest_reward (id) ON DELETE CASCADE
+    FOREIGN KEY (quest_name) REFERENCES quest_model (name) ON DELETE CASCADE,
+    FOREIGN KEY (reward_id) REFERENCES quest_reward (id) ON DELETE CASCADE
 );
 
-CREATE TABLE IF NOT EXISTS legend.quest_user
+CREATE TABLE IF NOT EXISTS quest_user
 (
     id         BIGINT AUTO_INCREMENT PRIMARY KEY NOT NULL,
     uuid       VARCHAR(36)                       NOT NULL,
@@ -52,7 +49,7 @@ CREATE TABLE IF NOT EXISTS legend.quest_user
     FOREIGN KEY (quest_name) REFERENCES quest_model (name) ON DELETE CASCADE
 );
 
-CREATE TABLE IF NOT EXISTS legend.quest_user_progress
+CREATE TABLE IF NOT EXISTS quest_user_progress
 (
     id                     BIGINT AUTO_INCREMENT PRIMARY KEY NOT NULL,
     quest_requirement_type VARCHAR(50)                       NOT NULL,
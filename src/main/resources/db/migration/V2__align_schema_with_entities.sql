@@ -0,0 +1,5 @@
+ALTER TABLE quest_model CHANGE COLUMN IF EXISTS displayName display_name VARCHAR(255) NOT NULL;
+
+ALTER TABLE quest_model MODIFY permission VARCHAR(50) NULL;
+
+ALTER TABLE quest_user_progress DROP COLUMN IF EXISTS quest_requirement_type;
@@ -0,0 +1,5 @@
+CREATE INDEX IF NOT EXISTS idx_quest_user_progress_uuid_completed ON quest_user_progress (uuid, completed, quest_name);
+
+CREATE INDEX IF NOT EXISTS idx_quest_user_uuid ON quest_user (uuid);
+
+CREATE INDEX IF NOT EXISTS idx_quest_user_expiration ON quest_user (expiration);
@@ -0,0 +1,7 @@
+DELETE FROM quest_user WHERE id NOT IN (SELECT id FROM (SELECT MIN(id) AS id FROM quest_user GROUP BY uuid) AS kept);
+
+DELETE FROM quest_user_progress WHERE completed = false AND NOT EXISTS (SELECT 1 FROM quest_user WHERE quest_user.uuid = quest_user_progress.uuid AND quest_user.quest_name = quest_user_progress.quest_name);
+
+CREATE UNIQUE INDEX uk_quest_user_uuid ON quest_user (uuid);
+
+DROP INDEX idx_quest_user_uuid ON quest_user;
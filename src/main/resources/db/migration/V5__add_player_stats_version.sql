@@ -0,0 +1 @@
+ALTER TABLE player_stats ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -138,4 +138,52 @@ class QuestAcceptOperationTest {
 
         this.player.assertSaid("You have successfully accepted the quest.");
     }
+
+    @Test
+    public void otherQuestWhileActive() throws InterruptedException {
+        String questName = UUID.randomUUID().toString().replace("-", "");
+        String otherQuestName = UUID.randomUUID().toString().replace("-", "");
+        this.player.performCommand("quest create " + questName);
+
+        //Sehr dumm! Aber da alles Async läuft, müssen wir warten, bis der Command ausgeführt wurde.
+        Thread.sleep(5000);
+
+        this.player.assertSaid("The quest has been successfully created.");
+        this.player.performCommand("quest update duration " + questName + " 1m");
+        this.player.performCommand("quest requirement add " + questName + " COLLECT 5 GRASS_BLOCK");
+
+        //Sehr dumm! Aber da alles Async läuft, müssen wir warten, bis der Command ausgeführt wurde.
+        Thread.sleep(5000);
+
+        this.player.nextMessage();
+
+        this.player.assertSaid("The quest has been successfully updated.");
+        this.player.performCommand("quest accept " + questName);
+
+        //Sehr dumm! Aber da alles Async läuft, müssen wir warten, bis der Command ausgeführt wurde.
+        Thread.sleep(5000);
+
+        this.player.assertSaid("You have successfully accepted the quest.");
+        this.player.performCommand("quest create " + otherQuestName);
+
+        //Sehr dumm! Aber da alles Async läuft, müssen wir warten, bis der Command ausgeführt wurde.
+        Thread.sleep(5000);
+
+        this.player.assertSaid("The quest has been successfully created.");
+        this.player.performCommand("quest update duration " + otherQuestName + " 1m");
+        this.player.performCommand("quest requirement add " + otherQuestName + " COLLECT 5 GRASS_BLOCK");
+
+        //Sehr dumm! Aber da alles Async läuft, müssen wir warten, bis der Command ausgeführt wurde.
+        Thread.sleep(5000);
+
+        this.player.nextMessage();
+
+        this.player.assertSaid("The quest has been successfully updated.");
+        this.player.performCommand("quest accept " + otherQuestName);
+
+        //Sehr dumm! Aber da alles Async läuft, müssen wir warten, bis der Command ausgeführt wurde.
+        Thread.sleep(5000);
+
+        this.player.assertSaid("You already have an active quest.");
+    }
 }
\ No newline at end of file
@@ -85,4 +85,81 @@ class QuestCancelOperationTest {
         this.player.assertSaid("You have successfully canceled the quest.");
     }
 
+    @Test
+    public void otherQuestCancel() throws InterruptedException {
+        String questName = UUID.randomUUID().toString().replace("-", "");
+        String otherQuestName = UUID.randomUUID().toString().replace("-", "");
+        this.player.performCommand("quest create " + questName);
+
+        //Sehr dumm! Aber da alles Async läuft, müssen wir warten, bis der Command ausgeführt wurde.
+        Thread.sleep(5000);
+
+        this.player.assertSaid("The quest has been successfully created.");
+        this.player.performCommand("quest update duration " + questName + " 1m");
+        this.player.performCommand("quest requirement add " + questName + " COLLECT 5 GRASS_BLOCK");
+
+        //Sehr dumm! Aber da alles Async läuft, müssen wir warten, bis der Command ausgeführt wurde.
+        Thread.sleep(5000);
+
+        this.player.nextMessage();
+
+        this.player.assertSaid("The quest has been successfully updated.");
+        this.player.performCommand("quest accept " + questName);
+
+        //Sehr dumm! Aber da alles Async läuft, müssen wir warten, bis der Command ausgeführt wurde.
+        Thread.sleep(5000);
+
+        this.player.assertSaid("You have successfully accepted the quest.");
+        this.player.performCommand("quest create " + otherQuestName);
+
+        //Sehr dumm! Aber da alles Async läuft, müssen wir warten, bis der Command ausgeführt wurde.
+        Thread.sleep(5000);
+
+        this.player.assertSaid("The quest has been successfully created.");
+        this.player.performCommand("quest cancel " + otherQuestName);
+
+        //Sehr dumm! Aber da alles Async läuft, müssen wir warten, bis der Command ausgeführt wurde.
+        Thread.sleep(5000);
+
+        this.player.assertSaid("The " + otherQuestName + " quest is not active.");
+    }
+
+    @Test
+    public void questAcceptedAgainAfterCancel() throws InterruptedException {
+        String questName = UUID.randomUUID().toString().replace("-", "");
+        this.player.performCommand("quest create " + questName);
+
+        //Sehr dumm! Aber da alles Async läuft, müssen wir warten, bis der Command ausgeführt wurde.
+        Thread.sleep(5000);
+
+        this.player.assertSaid("The quest has been successfully created.");
+        this.player.performCommand("quest update duration " + questName + " 1m");
+        this.player.performCommand("quest requirement add " + questName + " COLLECT 5 GRASS_BLOCK");
+
+        //Sehr dumm! Aber da alles Async läuft, müssen wir warten, bis der Command ausgeführt wurde.
+        Thread.sleep(5000);
+
+        this.player.nextMessage();
+
+        this.player.assertSaid("The quest has been successfully updated.");
+        this.player.performCommand("quest accept " + questName);
+
+        //Sehr dumm! Aber da alles Async läuft, müssen wir warten, bis der Command ausgeführt wurde.
+        Thread.sleep(5000);
+
+        this.player.assertSaid("You have successfully accepted the quest.");
+        this.player.performCommand("quest cancel " + questName);
+
+        //Sehr dumm! Aber da alles Async läuft, müssen wir warten, bis der Command ausgeführt wurde.
+        Thread.sleep(5000);
+
+        this.player.assertSaid("You have successfully canceled the quest.");
+        this.player.performCommand("quest accept " + questName);
+
+        //Sehr dumm! Aber da alles Async läuft, müssen wir warten, bis der Command ausgeführt wurde.
+        Thread.sleep(5000);
+
+        this.player.assertSaid("You have successfully accepted the quest.");
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package io.github.rysefoxx.command.operation;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import io.github.rysefoxx.PlayLegendQuest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class QuestStatsOperationTest {
+
+    private PlayerMock player;
+
+    @BeforeEach
+    public void setUp() {
+        ServerMock mockBukkit = MockBukkit.mock();
+        MockBukkit.load(PlayLegendQuest.class);
+        this.player = mockBukkit.addPlayer();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Test
+    public void statsWithoutPermission() {
+        this.player.setOp(false);
+        this.player.performCommand("quest stats");
+
+        this.player.assertSaid("You do not have permission to do this.");
+    }
+
+    @Test
+    public void statsWithPermission() {
+        this.player.setOp(true);
+        this.player.performCommand("quest stats");
+
+        this.player.assertSaid("Second-level cache statistics:");
+    }
+
+}
@@ -0,0 +1,95 @@
+package io.github.rysefoxx.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.util.Objects;
+
+class SchemaIndexTest {
+
+    private Connection connection;
+
+    @BeforeEach
+    public void setUp() throws SQLException, IOException {
+        this.connection = DriverManager.getConnection("jdbc:h2:mem:legend;MODE=MariaDB;DATABASE_TO_LOWER=TRUE");
+        executeScript("V1__initial_schema.sql");
+        executeScript("V3__add_progress_and_user_indexes.sql");
+        executeScript("V4__unique_active_quest_per_player.sql");
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        this.connection.close();
+    }
+
+    @Test
+    public void openProgressUsesIndex() throws SQLException {
+        assertUsesIndex("SELECT * FROM quest_user_progress WHERE uuid = 'a' AND completed = false", "idx_quest_user_progress_uuid_completed");
+    }
+
+    @Test
+    public void completedQuestUsesIndex() throws SQLException {
+        assertUsesIndex("SELECT 1 FROM quest_user_progress WHERE uuid = 'a' AND quest_name = 'b' AND completed = true", "idx_quest_user_progress_uuid_completed");
+    }
+
+    @Test
+    public void activeQuestUsesIndex() throws SQLException {
+        assertUsesIndex("SELECT * FROM quest_user WHERE uuid = 'a'", "uk_quest_user_uuid");
+    }
+
+    @Test
+    public void secondActiveQuestIsRejected() throws SQLException {
+        try (Statement statement = this.connection.createStatement()) {
+            statement.execute("INSERT INTO quest_model (name, display_name, permission, duration) VALUES ('a', 'a', '', 60), ('b', 'b', '', 60)");
+            statement.execute("INSERT INTO quest_user (uuid, quest_name, expiration) VALUES ('a', 'a', CURRENT_TIMESTAMP)");
+
+            Assertions.assertThrows(SQLIntegrityConstraintViolationException.class,
+                    () -> statement.execute("INSERT INTO quest_user (uuid, quest_name, expiration) VALUES ('a', 'b', CURRENT_TIMESTAMP)"));
+        }
+    }
+
+    @Test
+    public void expirationUsesIndex() throws SQLException {
+        assertUsesIndex("SELECT * FROM quest_user WHERE expiration <= CURRENT_TIMESTAMP", "idx_quest_user_expiration");
+    }
+
+    @Test
+    public void expiredChunkUsesIndex() throws SQLException {
+        assertUsesIndex("SELECT id, uuid, quest_name FROM quest_user WHERE expiration < CURRENT_TIMESTAMP ORDER BY expiration LIMIT 1000", "idx_quest_user_expiration");
+    }
+
+    private void assertUsesIndex(String query, String index) throws SQLException {
+        try (Statement statement = this.connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN " + query)) {
+            Assertions.assertTrue(resultSet.next());
+
+            String plan = resultSet.getString(1).toLowerCase();
+            Assertions.assertTrue(plan.contains(index), plan);
+        }
+    }
+
+    private void executeScript(String script) throws SQLException, IOException {
+        String content;
+        try (InputStream inputStream = Objects.requireNonNull(getClass().getClassLoader().getResourceAsStream("db/migration/" + script))) {
+            content = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        try (Statement statement = this.connection.createStatement()) {
+            for (String query : content.split(";")) {
+                if (query.isBlank()) continue;
+                statement.execute(query);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.rysefoxx.progress;
+
+import io.github.rysefoxx.quest.QuestDefinition;
+import io.github.rysefoxx.quest.QuestModel;
+import io.github.rysefoxx.quest.QuestRequirementDefinition;
+import io.github.rysefoxx.quest.impl.QuestKillRequirement;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+class ActiveQuestStateTest {
+
+    private final UUID uuid = UUID.randomUUID();
+    private final QuestModel questModel = new QuestModel("test");
+    private Map<Long, QuestRequirementDefinition> requirements;
+    private List<QuestUserProgressModel> questUserProgressModels;
+
+    @BeforeEach
+    public void setUp() {
+        this.requirements = new LinkedHashMap<>();
+        this.questUserProgressModels = new ArrayList<>();
+    }
+
+    @Test
+    public void slotOfFindsEveryRequirement() {
+        addRequirement(5, 3, 1, 0);
+        addRequirement(17, 3, 2, 0);
+        addRequirement(1029, 3, 3, 0);
+        ActiveQuestState activeQuestState = createState();
+
+        Assertions.assertEquals(0, activeQuestState.slotOf(5));
+        Assertions.assertEquals(1, activeQuestState.slotOf(17));
+        Assertions.assertEquals(2, activeQuestState.slotOf(1029));
+        Assertions.assertEquals(-1, activeQuestState.slotOf(6));
+    }
+
+    @Test
+    public void incrementIsCappedAtRequiredAmount() {
+        addRequirement(1, 3, 1, 0);
+        ActiveQuestState activeQuestState = createState();
+
+        Assertions.assertEquals(2, activeQuestState.increment(0, 2));
+        Assertions.assertFalse(activeQuestState.isCompleted(0));
+        Assertions.assertEquals(3, activeQuestState.increment(0, 5));
+        Assertions.assertTrue(activeQuestState.isCompleted(0));
+        Assertions.assertEquals(3, activeQuestState.increment(0, 1));
+    }
+
+    @Test
+    public void questIsCompletedOnceEverySlotIsCompleted() {
+        addRequirement(1, 2, 1, 0);
+        addRequirement(2, 1, 2, 0);
+        ActiveQuestState activeQuestState = createState();
+
+        activeQuestState.increment(0, 2);
+        Assertions.assertFalse(activeQuestState.isQuestCompleted());
+
+        activeQuestState.increment(1, 1);
+        Assertions.assertTrue(activeQuestState.isQuestCompleted());
+    }
+
+    @Test
+    public void loadedProgressIsKept() {
+        addRequirement(1, 5, 1, 5);
+        addRequirement(2, 5, 2, 3);
+        ActiveQuestState activeQuestState = createState();
+
+        Assertions.assertTrue(activeQuestState.isCompleted(0));
+        Assertions.assertEquals(3, activeQuestState.getProgress(1));
+        Assertions.assertFalse(activeQuestState.isInterestedIn(QuestKillRequirement.TYPE, 1));
+        Assertions.assertTrue(activeQuestState.isInterestedIn(QuestKillRequirement.TYPE, 2));
+    }
+
+    @Test
+    public void interestIsKeptWhileAnotherSlotWaitsForTheKey() {
+        addRequirement(1, 1, 7, 0);
+        addRequirement(2, 2, 7, 0);
+        ActiveQuestState activeQuestState = createState();
+
+        activeQuestState.increment(0, 1);
+        Assertions.assertTrue(activeQuestState.isInterestedIn(QuestKillRequirement.TYPE, 7));
+
+        activeQuestState.increment(1, 2);
+        Assertions.assertFalse(activeQuestState.isInterestedIn(QuestKillRequirement.TYPE, 7));
+    }
+
+    @Test
+    public void requirementWithoutKeyIsNotIndexed() {
+        addRequirement(1, 1, -1, 0);
+        ActiveQuestState activeQuestState = createState();
+
+        Assertions.assertFalse(activeQuestState.isInterestedIn(QuestKillRequirement.TYPE, 0));
+        Assertions.assertEquals(0, activeQuestState.slotOf(1));
+    }
+
+    private void addRequirement(long id, int requiredAmount, int key, int progress) {
+        QuestKillRequirement requirement = new QuestKillRequirement();
+        requirement.setId(id);
+        requirement.setRequiredAmount(requiredAmount);
+        this.requirements.put(id, new QuestRequirementDefinition(id, QuestKillRequirement.TYPE, key, requiredAmount, "ZOMBIE"));
+
+        QuestUserProgressModel questUserProgressModel = new QuestUserProgressModel(this.uuid, this.questModel, requirement);
+        questUserProgressModel.setProgress(progress);
+        this.questUserProgressModels.add(questUserProgressModel);
+    }
+
+    private ActiveQuestState createState() {
+        QuestDefinition questDefinition = new QuestDefinition("test", "test", null, 60, null, this.requirements, Map.of(), 0);
+        return new ActiveQuestState(this.uuid, questDefinition, this.questUserProgressModels);
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.rysefoxx.user;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+class QuestExpirationQueueTest {
+
+    private final LocalDateTime now = LocalDateTime.of(2026, 10, 17, 12, 0);
+    private QuestExpirationQueue queue;
+
+    @BeforeEach
+    public void setUp() {
+        this.queue = new QuestExpirationQueue();
+    }
+
+    @Test
+    public void onlyDueQuestsArePolled() {
+        UUID due = UUID.randomUUID();
+        UUID notDue = UUID.randomUUID();
+        this.queue.schedule(due, "a", this.now.minusSeconds(1));
+        this.queue.schedule(notDue, "b", this.now.plusSeconds(1));
+
+        List<UUID> polled = poll();
+
+        Assertions.assertEquals(List.of(due), polled);
+        Assertions.assertEquals(1, this.queue.size());
+    }
+
+    @Test
+    public void dueQuestsArePolledInOrder() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        this.queue.schedule(second, "a", this.now.minusSeconds(1));
+        this.queue.schedule(first, "a", this.now.minusSeconds(2));
+
+        Assertions.assertEquals(List.of(first, second), poll());
+        Assertions.assertEquals(0, this.queue.size());
+    }
+
+    @Test
+    public void unscheduledQuestIsSkipped() {
+        UUID uuid = UUID.randomUUID();
+        this.queue.schedule(uuid, "a", this.now.minusSeconds(1));
+        this.queue.unschedule(uuid);
+
+        Assertions.assertTrue(poll().isEmpty());
+        Assertions.assertEquals(0, this.queue.size());
+    }
+
+    @Test
+    public void rescheduledQuestIsPolledOnceAtItsNewExpiration() {
+        UUID uuid = UUID.randomUUID();
+        this.queue.schedule(uuid, "a", this.now.minusSeconds(1));
+        this.queue.schedule(uuid, "b", this.now.plusSeconds(1));
+
+        Assertions.assertTrue(poll().isEmpty());
+
+        List<String> questNames = new ArrayList<>();
+        this.queue.pollDue(toMillis(this.now.plusSeconds(1)), (polledUuid, questName) -> questNames.add(questName));
+        Assertions.assertEquals(List.of("b"), questNames);
+    }
+
+    private List<UUID> poll() {
+        List<UUID> polled = new ArrayList<>();
+        this.queue.pollDue(toMillis(this.now), (uuid, questName) -> polled.add(uuid));
+        return polled;
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}